@@ -7,6 +7,8 @@ CREATE TABLE IF NOT EXISTS chats (
     item_id BIGINT NOT NULL,
     owner_id BIGINT NOT NULL COMMENT '贴文作者（物品所有者）',
     requester_id BIGINT NOT NULL COMMENT '联系者（想要物品的人）',
+    owner_unread_count INT NOT NULL DEFAULT 0 COMMENT '贴文作者的未读消息数',
+    requester_unread_count INT NOT NULL DEFAULT 0 COMMENT '联系者的未读消息数',
     created_at DATETIME NOT NULL,
     updated_at DATETIME NOT NULL,
     INDEX idx_item_id (item_id),
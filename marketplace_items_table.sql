@@ -16,6 +16,7 @@ CREATE TABLE IF NOT EXISTS marketplace_items (
   views INT DEFAULT 0,
   is_active BOOLEAN DEFAULT 1,
   date_posted TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+  INDEX idx_marketplace_date_posted_id (date_posted, item_id),
   FOREIGN KEY (seller_id) REFERENCES users(user_id)
 );
 
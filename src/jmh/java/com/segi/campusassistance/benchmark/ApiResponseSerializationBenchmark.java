@@ -0,0 +1,91 @@
+package com.segi.campusassistance.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.segi.campusassistance.dto.ApiResponse;
+import com.segi.campusassistance.dto.ChatResponse;
+import com.segi.campusassistance.dto.ItemResponse;
+import com.segi.campusassistance.dto.MarketplaceItemResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用应用的 ObjectMapper 序列化包含 1000 条记录的 ApiResponse（每次调用模拟一个新请求）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ApiResponseSerializationBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private ObjectMapper mapper;
+    private HttpServletRequest request;
+    private ApiResponse<List<ItemResponse>> items;
+    private ApiResponse<List<MarketplaceItemResponse>> marketplaceItems;
+    private ApiResponse<List<ChatResponse>> chats;
+
+    @Setup
+    public void setUp() {
+        mapper = BenchmarkFixtures.applicationObjectMapper();
+        List<ItemResponse> itemResponses = new ArrayList<>(ROWS);
+        List<MarketplaceItemResponse> marketplaceResponses = new ArrayList<>(ROWS);
+        List<ChatResponse> chatResponses = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            itemResponses.add(ItemResponse.fromEntity(BenchmarkFixtures.item(i, BenchmarkFixtures.imageKey(i)),
+                    7L, "USER", "Student " + i % 50));
+            marketplaceResponses.add(MarketplaceItemResponse.fromEntity(BenchmarkFixtures.marketplaceItem(i),
+                    7L, "USER", "Seller " + i % 50, "seller@segi.edu.my"));
+            chatResponses.add(ChatResponse.fromEntity(BenchmarkFixtures.chat(i), "Owner", null, "Requester", null, 0L));
+        }
+        items = ApiResponse.success(itemResponses);
+        marketplaceItems = ApiResponse.success(marketplaceResponses);
+        chats = ApiResponse.success(chatResponses);
+
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/api/items");
+        mockRequest.setServerName("10.0.0.5");
+        mockRequest.setServerPort(8081);
+        request = mockRequest;
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] items() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] marketplaceItems() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        return mapper.writeValueAsBytes(marketplaceItems);
+    }
+
+    @Benchmark
+    public byte[] chats() throws Exception {
+        return mapper.writeValueAsBytes(chats);
+    }
+}
@@ -0,0 +1,91 @@
+package com.segi.campusassistance.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.segi.campusassistance.config.JacksonConfig;
+import com.segi.campusassistance.entity.Chat;
+import com.segi.campusassistance.entity.Item;
+import com.segi.campusassistance.entity.MarketplaceItem;
+import com.segi.campusassistance.storage.MediaUrlResolver;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.SpringHandlerInstantiator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 基准测试共用的实体数据和 ObjectMapper
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 与应用上下文一致的 ObjectMapper：JacksonConfig 的配置 + 通过 Spring 实例化 MediaUrlSerializer
+     */
+    static ObjectMapper applicationObjectMapper() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("mediaUrlResolver", new MediaUrlResolver());
+        AutowiredAnnotationBeanPostProcessor autowiring = new AutowiredAnnotationBeanPostProcessor();
+        autowiring.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(autowiring);
+        return new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json()
+                .handlerInstantiator(new SpringHandlerInstantiator(beanFactory)));
+    }
+
+    static String imageKey(int i) {
+        String sha = String.format("%064x", i * 2654435761L);
+        return MediaUrlResolver.keyFor(sha.substring(0, 2) + "/" + sha.substring(2, 4) + "/" + sha + ".jpg");
+    }
+
+    static Item item(int i, String imageUrl) {
+        Item item = new Item();
+        item.setId((long) i);
+        item.setName("Lost item " + i);
+        item.setDescription("Black backpack found near the library entrance");
+        item.setCategory("Bags");
+        item.setStatus("LOST");
+        item.setLocation("Library");
+        item.setContactInfo("student" + i + "@segi.edu.my");
+        item.setDate(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+        item.setImageUrl(imageUrl);
+        item.setUserId((long) (i % 50));
+        item.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+        item.setUpdatedAt(item.getCreatedAt());
+        return item;
+    }
+
+    static MarketplaceItem marketplaceItem(int i) {
+        MarketplaceItem item = new MarketplaceItem();
+        item.setItemId((long) i);
+        item.setSellerId((long) (i % 50));
+        item.setItemName("Used textbook " + i);
+        item.setCategory("Books");
+        item.setPrice(BigDecimal.valueOf(1500 + i % 100, 2));
+        item.setCondition("Good");
+        item.setDescription("Calculus, 8th edition, a few notes in pencil");
+        item.setLocation("Block C");
+        item.setImageUrl(imageKey(i));
+        item.setContactEmail("seller" + i + "@segi.edu.my");
+        item.setStatus("For Sale");
+        item.setViews(i % 300);
+        item.setIsActive(true);
+        item.setDatePosted(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+        return item;
+    }
+
+    static Chat chat(int i) {
+        Chat chat = new Chat();
+        chat.setId((long) i);
+        chat.setItemId((long) (i % 200));
+        chat.setOwnerId((long) (i % 50));
+        chat.setRequesterId((long) (50 + i % 50));
+        chat.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(i));
+        chat.setUpdatedAt(chat.getCreatedAt().plusMinutes(30));
+        chat.setOwnerUnreadCount(i % 3);
+        return chat;
+    }
+}
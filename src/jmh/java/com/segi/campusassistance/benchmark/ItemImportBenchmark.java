@@ -0,0 +1,74 @@
+package com.segi.campusassistance.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.segi.campusassistance.dto.ItemRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量导入：反序列化 1000 条 ItemRequest，日期混合客户端的各种格式（以 Flutter 的 dd/MM/yyyy 为主）
+ * 对比原 LocalDate 反序列化器与 MultiFormatDateParser
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemImportBenchmark {
+
+    private static final int ROWS = 1000;
+    private static final TypeReference<List<ItemRequest>> ITEMS = new TypeReference<>() {
+    };
+
+    private byte[] payload;
+    private ObjectReader legacyReader;
+    private ObjectReader currentReader;
+
+    @Setup
+    public void setUp() {
+        String[] patterns = {"dd/MM/yyyy", "dd/MM/yyyy", "dd/MM/yyyy", "MM/dd/yyyy", "yyyy-MM-dd"};
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < ROWS; i++) {
+            // 日期 13-28 号：dd/MM/yyyy 不会被误识别为 MM/dd/yyyy
+            LocalDate date = LocalDate.of(2025, 1 + i % 12, 13 + i % 16);
+            String text = date.format(DateTimeFormatter.ofPattern(patterns[i % patterns.length]));
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"name\":\"Lost item ").append(i)
+                    .append("\",\"description\":\"Black backpack found near the library entrance\"")
+                    .append(",\"category\":\"Bags\",\"status\":\"LOST\",\"location\":\"Library\"")
+                    .append(",\"date\":\"").append(text).append("\"}");
+        }
+        payload = json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        legacyReader = LocalDateDeserializationBenchmark.legacyObjectMapper().readerFor(ITEMS);
+        currentReader = BenchmarkFixtures.applicationObjectMapper().readerFor(ITEMS);
+    }
+
+    @Benchmark
+    public List<ItemRequest> legacy() throws Exception {
+        return legacyReader.readValue(payload);
+    }
+
+    @Benchmark
+    public List<ItemRequest> current() throws Exception {
+        return currentReader.readValue(payload);
+    }
+}
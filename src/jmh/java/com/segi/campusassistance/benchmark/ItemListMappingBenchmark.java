@@ -0,0 +1,131 @@
+package com.segi.campusassistance.benchmark;
+
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.segi.campusassistance.dto.ItemResponse;
+import com.segi.campusassistance.entity.Item;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1000 行物品列表的 DTO 映射 + JSON 序列化（每次调用模拟一个新请求）
+ * legacyPerRowFix：原实现，每行通过 RequestContextHolder + ServletUriComponentsBuilder 重新计算基础地址
+ * relativeKeys：数据库保存相对键，序列化时由 MediaUrlResolver 展开，基础地址每个请求只计算一次
+ * 两条路径都使用应用的 ObjectMapper 配置，legacy 路径只通过 mix-in 去掉 imageUrl 上的 MediaUrlSerializer
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemListMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<Item> legacyItems;
+    private List<Item> keyedItems;
+    private ObjectMapper legacyMapper;
+    private ObjectMapper springMapper;
+    private HttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        legacyItems = new ArrayList<>(ROWS);
+        keyedItems = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            String key = BenchmarkFixtures.imageKey(i);
+            legacyItems.add(BenchmarkFixtures.item(i, "http://192.168.100.147:8081" + key));
+            keyedItems.add(BenchmarkFixtures.item(i, key));
+        }
+
+        legacyMapper = BenchmarkFixtures.applicationObjectMapper()
+                .addMixIn(ItemResponse.class, LegacyImageUrlMixIn.class);
+        springMapper = BenchmarkFixtures.applicationObjectMapper();
+
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest("GET", "/api/items");
+        mockRequest.setServerName("10.0.0.5");
+        mockRequest.setServerPort(8081);
+        request = mockRequest;
+    }
+
+    @TearDown
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public byte[] legacyPerRowFix() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        List<ItemResponse> responses = new ArrayList<>(ROWS);
+        for (Item item : legacyItems) {
+            ItemResponse response = ItemResponse.fromEntity(item);
+            response.setImageUrl(legacyFixImageUrl(item.getImageUrl()));
+            responses.add(response);
+        }
+        return legacyMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] relativeKeys() throws Exception {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        List<ItemResponse> responses = new ArrayList<>(ROWS);
+        for (Item item : keyedItems) {
+            responses.add(ItemResponse.fromEntity(item));
+        }
+        return springMapper.writeValueAsBytes(responses);
+    }
+
+    /**
+     * 原 ItemResponse.fixImageUrl 的实现
+     */
+    private static String legacyFixImageUrl(String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty() || !imageUrl.contains("/uploads/")) {
+            return imageUrl;
+        }
+        try {
+            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                HttpServletRequest current = attributes.getRequest();
+                String currentBaseUrl = ServletUriComponentsBuilder.fromRequestUri(current)
+                        .replacePath(null)
+                        .build()
+                        .toUriString();
+                String filename = imageUrl.substring(imageUrl.lastIndexOf("/uploads/") + "/uploads/".length());
+                if (imageUrl.contains("192.168.100.147")) {
+                    return currentBaseUrl + "/uploads/" + filename;
+                }
+            }
+        } catch (Exception e) {
+            // 修复失败时返回原URL
+        }
+        return imageUrl;
+    }
+
+    /**
+     * 原 ItemResponse 的 imageUrl 没有自定义序列化器，映射时已经是完整URL
+     */
+    abstract static class LegacyImageUrlMixIn {
+        @JsonSerialize(using = JsonSerializer.None.class)
+        private String imageUrl;
+    }
+}
@@ -0,0 +1,91 @@
+package com.segi.campusassistance.benchmark;
+
+import com.segi.campusassistance.security.JwtPrincipalCache;
+import com.segi.campusassistance.security.UserPrincipal;
+import com.segi.campusassistance.security.VerifiedToken;
+import com.segi.campusassistance.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * JwtAuthenticationFilter 每个请求的鉴权开销
+ * legacyFourParses：原实现，每次重建 HMAC 密钥并对同一令牌验签解析四次
+ * singleParse：JwtUtil.verify 一次验签解析
+ * cachedHit：JwtPrincipalCache 命中，只计算令牌的 SHA-256
+ * generateToken：登录时签发令牌
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-should-be-at-least-256-bits-long-for-hs256";
+
+    private JwtUtil jwtUtil;
+    private JwtPrincipalCache cache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86400000L);
+        cache = new JwtPrincipalCache(jwtUtil, 10000);
+        token = jwtUtil.generateToken(42L, "student@segi.edu.my", "USER");
+        cache.resolve(token);
+    }
+
+    @Benchmark
+    public UserPrincipal legacyFourParses() {
+        Long userId = legacyExtract(claims -> claims.get("userId", Long.class));
+        String email = legacyExtract(Claims::getSubject);
+        String role = legacyExtract(claims -> claims.get("role", String.class));
+        boolean valid = email.equals(legacyExtract(Claims::getSubject))
+                && !legacyExtract(Claims::getExpiration).before(new Date());
+        return valid ? new UserPrincipal(userId, email, role) : null;
+    }
+
+    @Benchmark
+    public UserPrincipal singleParse() {
+        VerifiedToken verified = jwtUtil.verify(token);
+        return verified != null ? verified.getPrincipal() : null;
+    }
+
+    @Benchmark
+    public UserPrincipal cachedHit() {
+        return cache.resolve(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(42L, "student@segi.edu.my", "USER");
+    }
+
+    private <T> T legacyExtract(Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        Claims claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+        return resolver.apply(claims);
+    }
+}
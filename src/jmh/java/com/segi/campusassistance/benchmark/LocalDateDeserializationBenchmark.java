@@ -0,0 +1,94 @@
+package com.segi.campusassistance.benchmark;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JacksonConfig 中多格式 LocalDate 反序列化器，每种格式单独测量
+ * legacy：原实现，每个值创建五个 DateTimeFormatter 并按 MM/dd/yyyy、dd/MM/yyyy、yyyy-MM-dd、MM-dd-yyyy、dd-MM-yyyy
+ * 依次尝试，每次失败都抛出 DateTimeParseException
+ * current：MultiFormatDateParser 按分隔符位置直接扫描数字
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocalDateDeserializationBenchmark {
+
+    @Param({"\"12/09/2025\"", "\"25/12/2025\"", "\"2025-12-09\"", "\"12-25-2025\"", "\"25-12-2025\""})
+    public String json;
+
+    private ObjectReader legacyReader;
+    private ObjectReader currentReader;
+
+    @Setup
+    public void setUp() {
+        legacyReader = legacyObjectMapper().readerFor(LocalDate.class);
+        currentReader = BenchmarkFixtures.applicationObjectMapper().readerFor(LocalDate.class);
+    }
+
+    @Benchmark
+    public LocalDate legacy() throws Exception {
+        return legacyReader.readValue(json);
+    }
+
+    @Benchmark
+    public LocalDate current() throws Exception {
+        return currentReader.readValue(json);
+    }
+
+    /**
+     * 应用的 ObjectMapper，但 LocalDate 使用原来的反序列化器
+     */
+    static ObjectMapper legacyObjectMapper() {
+        ObjectMapper mapper = BenchmarkFixtures.applicationObjectMapper();
+        SimpleModule module = new SimpleModule("legacy-local-date");
+        module.addDeserializer(LocalDate.class, new LegacyLocalDateDeserializer());
+        return mapper.registerModule(module);
+    }
+
+    /**
+     * 原 JacksonConfig 中的实现
+     */
+    static final class LegacyLocalDateDeserializer extends JsonDeserializer<LocalDate> {
+
+        @Override
+        public LocalDate deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String dateString = p.getText().trim();
+            String[] formats = {"MM/dd/yyyy", "dd/MM/yyyy", "yyyy-MM-dd", "MM-dd-yyyy", "dd-MM-yyyy"};
+            for (String format : formats) {
+                try {
+                    DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
+                    return LocalDate.parse(dateString, formatter);
+                } catch (DateTimeParseException e) {
+                    // 继续尝试下一个格式
+                }
+            }
+            throw new InvalidFormatException(p, "Unable to parse date: " + dateString, dateString, LocalDate.class);
+        }
+    }
+}
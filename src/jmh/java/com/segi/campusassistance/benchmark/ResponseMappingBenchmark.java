@@ -0,0 +1,81 @@
+package com.segi.campusassistance.benchmark;
+
+import com.segi.campusassistance.dto.ChatResponse;
+import com.segi.campusassistance.dto.ItemResponse;
+import com.segi.campusassistance.dto.MarketplaceItemResponse;
+import com.segi.campusassistance.entity.Chat;
+import com.segi.campusassistance.entity.Item;
+import com.segi.campusassistance.entity.MarketplaceItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 实体到响应 DTO 的映射（每次调用映射 1000 行，不含序列化）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ResponseMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<Item> items;
+    private List<MarketplaceItem> marketplaceItems;
+    private List<Chat> chats;
+
+    @Setup
+    public void setUp() {
+        items = new ArrayList<>(ROWS);
+        marketplaceItems = new ArrayList<>(ROWS);
+        chats = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            items.add(BenchmarkFixtures.item(i, BenchmarkFixtures.imageKey(i)));
+            marketplaceItems.add(BenchmarkFixtures.marketplaceItem(i));
+            chats.add(BenchmarkFixtures.chat(i));
+        }
+    }
+
+    @Benchmark
+    public List<ItemResponse> itemResponses() {
+        List<ItemResponse> responses = new ArrayList<>(ROWS);
+        for (Item item : items) {
+            responses.add(ItemResponse.fromEntity(item, 7L, "USER", "Student " + item.getUserId()));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<MarketplaceItemResponse> marketplaceItemResponses() {
+        List<MarketplaceItemResponse> responses = new ArrayList<>(ROWS);
+        for (MarketplaceItem item : marketplaceItems) {
+            responses.add(MarketplaceItemResponse.fromEntity(item, 7L, "USER",
+                    "Seller " + item.getSellerId(), item.getContactEmail()));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ChatResponse> chatResponses() {
+        List<ChatResponse> responses = new ArrayList<>(ROWS);
+        for (Chat chat : chats) {
+            responses.add(ChatResponse.fromEntity(chat, "Owner", null, "Requester", null,
+                    chat.getUnreadCountFor(chat.getOwnerId())));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,239 @@
+package com.segi.campusassistance.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 混合流量压测：对运行中的实例并发发起列表、聊天和慢速上传请求，输出各类请求的吞吐和延迟分位数
+ * 用于对比默认的 Tomcat 平台线程池与虚拟线程模式（--spring.profiles.active=virtual）：
+ * 慢速上传会长时间占住请求线程，平台线程池耗尽后列表和聊天请求开始排队
+ *
+ * mvn -P jmh test-compile exec:java -Dexec.mainClass=com.segi.campusassistance.loadtest.MixedTrafficLoadDriver \
+ *     -Dload.token=... -Dload.userId=... -Dload.chatId=...
+ *
+ * 参数（系统属性）：
+ *   load.baseUrl          默认 http://localhost:8080
+ *   load.token / userId   JWT 和对应的用户ID（聊天、上传需要）
+ *   load.chatId           该用户参与的聊天ID
+ *   load.users            并发虚拟用户数，默认 400
+ *   load.seconds          压测时长，默认 60
+ *   load.mix              feed/chat/upload 权重，默认 60/30/10
+ *   load.uploadKb         每次上传大小，默认 256
+ *   load.uploadKbPerSec   上传限速（模拟移动网络），默认 64
+ */
+public final class MixedTrafficLoadDriver {
+
+    enum Operation {
+        FEED, CHAT_READ, CHAT_SEND, UPLOAD
+    }
+
+    private final String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    private final String token = System.getProperty("load.token", "");
+    private final String userId = System.getProperty("load.userId", "");
+    private final String chatId = System.getProperty("load.chatId", "");
+    private final int users = Integer.getInteger("load.users", 400);
+    private final int seconds = Integer.getInteger("load.seconds", 60);
+    private final int[] mix = Arrays.stream(System.getProperty("load.mix", "60/30/10").split("/"))
+            .mapToInt(Integer::parseInt).toArray();
+    private final int uploadBytes = Integer.getInteger("load.uploadKb", 256) * 1024;
+    private final int uploadBytesPerSecond = Integer.getInteger("load.uploadKbPerSec", 64) * 1024;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        new MixedTrafficLoadDriver().run();
+    }
+
+    private void run() throws InterruptedException {
+        boolean authenticated = !token.isEmpty() && !userId.isEmpty() && !chatId.isEmpty();
+        if (!authenticated) {
+            System.out.println("load.token/userId/chatId not set: running feed traffic only");
+        }
+        System.out.printf("%d users for %ds against %s (mix feed/chat/upload = %s)%n",
+                users, seconds, baseUrl, Arrays.toString(mix));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Recorder> recorders = new ArrayList<>(users);
+        ExecutorService pool = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            Recorder recorder = new Recorder();
+            recorders.add(recorder);
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    Operation operation = authenticated ? pick() : Operation.FEED;
+                    long start = System.nanoTime();
+                    boolean ok = execute(operation);
+                    recorder.record(operation, System.nanoTime() - start, ok);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 120L, TimeUnit.SECONDS);
+
+        report(recorders);
+    }
+
+    private Operation pick() {
+        int total = mix[0] + mix[1] + mix[2];
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        if (roll < mix[0]) {
+            return Operation.FEED;
+        }
+        if (roll < mix[0] + mix[1]) {
+            // 聊天流量中读多写少
+            return ThreadLocalRandom.current().nextInt(4) == 0 ? Operation.CHAT_SEND : Operation.CHAT_READ;
+        }
+        return Operation.UPLOAD;
+    }
+
+    private boolean execute(Operation operation) {
+        try {
+            HttpRequest request = switch (operation) {
+                case FEED -> get("/api/items?limit=20");
+                case CHAT_READ -> get("/api/chats/" + chatId + "/messages?limit=50");
+                case CHAT_SEND -> authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/api/chats/" + chatId + "/messages")))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"senderId\":" + userId + ",\"content\":\"load test " + System.nanoTime() + "\"}"))
+                        .build();
+                case UPLOAD -> upload();
+            };
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            return response.statusCode() < 400;
+        } catch (IOException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path))).GET().build();
+    }
+
+    private HttpRequest upload() {
+        String boundary = "load" + System.nanoTime();
+        byte[] head = ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[head.length + uploadBytes + tail.length];
+        System.arraycopy(head, 0, body, 0, head.length);
+        // JPEG 文件头 + 随机内容，每次上传内容不同，不会命中内容寻址去重
+        body[head.length] = (byte) 0xFF;
+        body[head.length + 1] = (byte) 0xD8;
+        byte[] random = new byte[uploadBytes - 2];
+        ThreadLocalRandom.current().nextBytes(random);
+        System.arraycopy(random, 0, body, head.length + 2, random.length);
+        System.arraycopy(tail, 0, body, head.length + uploadBytes, tail.length);
+
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + "/upload/image")))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.fromPublisher(
+                        HttpRequest.BodyPublishers.ofInputStream(() -> new ThrottledInputStream(body, uploadBytesPerSecond)),
+                        body.length))
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        builder.timeout(Duration.ofSeconds(60));
+        return token.isEmpty() ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private void report(List<Recorder> recorders) {
+        Map<Operation, List<Long>> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        for (Recorder recorder : recorders) {
+            recorder.latencies.forEach((operation, values) ->
+                    latencies.computeIfAbsent(operation, key -> new ArrayList<>()).addAll(values));
+            recorder.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+        }
+
+        System.out.printf("%-10s %9s %8s %8s %9s %9s %9s%n", "operation", "requests", "req/s", "errors", "p50 ms", "p95 ms", "p99 ms");
+        for (Operation operation : Operation.values()) {
+            List<Long> values = latencies.getOrDefault(operation, List.of());
+            if (values.isEmpty()) {
+                continue;
+            }
+            long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+            System.out.printf("%-10s %9d %8.1f %8d %9.1f %9.1f %9.1f%n",
+                    operation, sorted.length, (double) sorted.length / seconds, errors.getOrDefault(operation, 0L),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    // 每个虚拟用户单独记录，结束后合并，压测过程中没有共享写入
+    private static final class Recorder {
+        private final Map<Operation, List<Long>> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+
+        void record(Operation operation, long nanos, boolean ok) {
+            latencies.computeIfAbsent(operation, key -> new ArrayList<>()).add(nanos);
+            if (!ok) {
+                errors.merge(operation, 1L, Long::sum);
+            }
+        }
+    }
+
+    // 按固定速率输出请求体，模拟慢速客户端上传
+    private static final class ThrottledInputStream extends InputStream {
+        private static final int SLICE = 8 * 1024;
+
+        private final byte[] data;
+        private final long nanosPerSlice;
+        private int position;
+
+        ThrottledInputStream(byte[] data, int bytesPerSecond) {
+            this.data = data;
+            this.nanosPerSlice = bytesPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) * SLICE / bytesPerSecond : 0;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length ? data[position++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (position >= data.length) {
+                return -1;
+            }
+            if (nanosPerSlice > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(nanosPerSlice);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Upload interrupted", e);
+                }
+            }
+            int count = Math.min(Math.min(length, SLICE), data.length - position);
+            System.arraycopy(data, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.segi.campusassistance.util.MultiFormatDateParser;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -15,8 +16,6 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 
 import java.io.IOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 
 @Configuration
 public class JacksonConfig {
@@ -39,28 +38,16 @@ public class JacksonConfig {
                     throws IOException {
                 String dateString = p.getText().trim();
                 
-                // 尝试多种日期格式
-                String[] formats = {
-                    "MM/dd/yyyy",      // Flutter 格式: 12/09/2025
-                    "dd/MM/yyyy",      // 欧洲格式: 09/12/2025
-                    "yyyy-MM-dd",      // ISO 格式: 2025-12-09
-                    "MM-dd-yyyy",      // 美国格式: 12-09-2025
-                    "dd-MM-yyyy"       // 欧洲格式: 09-12-2025
-                };
-                
-                for (String format : formats) {
-                    try {
-                        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(format);
-                        return LocalDate.parse(dateString, formatter);
-                    } catch (DateTimeParseException e) {
-                        // 继续尝试下一个格式
-                    }
+                // 依次支持 MM/dd/yyyy（Flutter）、dd/MM/yyyy、yyyy-MM-dd、MM-dd-yyyy、dd-MM-yyyy
+                LocalDate date = MultiFormatDateParser.parse(dateString);
+                if (date != null) {
+                    return date;
                 }
                 
                 // 如果所有格式都失败，抛出异常
                 throw new InvalidFormatException(
                     p,
-                    "Unable to parse date: " + dateString + ". Supported formats: MM/dd/yyyy, dd/MM/yyyy, yyyy-MM-dd, MM-dd-yyyy, dd-MM-yyyy",
+                    "Unable to parse date: " + dateString + ". Supported formats: " + MultiFormatDateParser.SUPPORTED_FORMATS,
                     dateString,
                     LocalDate.class
                 );
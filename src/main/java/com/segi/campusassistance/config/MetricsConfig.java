@@ -0,0 +1,37 @@
+package com.segi.campusassistance.config;
+
+import com.segi.campusassistance.metrics.QueryBudgetProperties;
+import com.segi.campusassistance.metrics.QueryTrackingListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class MetricsConfig {
+
+    // 用 datasource-proxy 包装数据源，统计每个请求的语句数和数据库耗时
+    @Bean
+    public static BeanPostProcessor queryTrackingDataSourcePostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+        QueryTrackingListener listener = new QueryTrackingListener(registryProvider);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.segi.campusassistance.config;
+
+import com.segi.campusassistance.service.FileStorageService;
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+
+/**
+ * multipart 临时文件默认写在上传目录的 .incoming 下：
+ * 与上传目录同一文件系统，FileStorageService 通过 MultipartFile.transferTo 重命名即可，不再复制一遍；
+ * 配置了 spring.servlet.multipart.location 时以配置为准
+ */
+@Configuration
+public class MultipartConfig {
+
+    @Bean
+    public MultipartConfigElement multipartConfigElement(MultipartProperties properties,
+                                                         @Value("${file.upload.dir:uploads}") String uploadDir) {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setLocation(StringUtils.hasText(properties.getLocation())
+                ? properties.getLocation()
+                : Paths.get(uploadDir, FileStorageService.INCOMING_DIR).toAbsolutePath().normalize().toString());
+        factory.setMaxFileSize(properties.getMaxFileSize());
+        factory.setMaxRequestSize(properties.getMaxRequestSize());
+        factory.setFileSizeThreshold(properties.getFileSizeThreshold());
+        return factory.createMultipartConfig();
+    }
+}
@@ -0,0 +1,36 @@
+package com.segi.campusassistance.config;
+
+import com.segi.campusassistance.search.LuceneSearchIndex;
+import com.segi.campusassistance.search.NoopSearchIndex;
+import com.segi.campusassistance.search.SearchDocuments;
+import com.segi.campusassistance.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+@Configuration
+public class SearchIndexConfig {
+
+    // lucene：进程内全文索引；database：关闭索引，使用数据库 LIKE 查询
+    @Value("${search.engine:lucene}")
+    private String searchEngine;
+
+    @Bean
+    public SearchIndex itemSearchIndex() {
+        return create("lost_found_items", SearchDocuments.ITEM_FIELDS);
+    }
+
+    @Bean
+    public SearchIndex marketplaceSearchIndex() {
+        return create("marketplace_items", SearchDocuments.MARKETPLACE_FIELDS);
+    }
+
+    private SearchIndex create(String name, Map<String, Float> fields) {
+        if ("lucene".equalsIgnoreCase(searchEngine)) {
+            return new LuceneSearchIndex(name, fields);
+        }
+        return new NoopSearchIndex();
+    }
+}
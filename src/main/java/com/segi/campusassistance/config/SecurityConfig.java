@@ -30,6 +30,9 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/uploads/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN") // 指标和缓存统计只对管理员开放
+                .requestMatchers("/ws/**").permitAll() // WebSocket 握手，JWT 在 STOMP CONNECT 帧中校验
                 .requestMatchers("/api/notifications/**").permitAll()
                 .requestMatchers("/api/marketplace/items").permitAll() // GET 请求允许未登录访问
                 .requestMatchers("/api/marketplace/items/search").permitAll() // 搜索允许未登录访问
@@ -0,0 +1,278 @@
+package com.segi.campusassistance.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 性能测试用的合成数据（spring.profiles.active=synthetic-data，见 application-synthetic-data.properties）
+ * 通过 JDBC 批量插入 users、lost_found_items、items、marketplace_items、chats、chat_messages，
+ * 发帖数、聊天发起数和每个聊天的消息数都呈长尾分布：少数用户和聊天占大部分数据，与生产环境接近
+ * 已存在合成用户时跳过，同一个 seed 生成的数据相同
+ */
+@Component
+@Profile("synthetic-data")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    static final String EMAIL_PREFIX = "synthetic-";
+    static final String EMAIL_DOMAIN = "@example.com";
+
+    private static final String[] CATEGORIES = {"Electronics", "Wallet", "Card", "Bag", "Books", "Keys", "Clothing", "Others"};
+    private static final String[] LOCATIONS = {"Library Level 2", "Library Level 3", "Campus Cafeteria", "Block A", "Block C",
+            "Playground", "Car Park", "Lecture Hall 5", "Student Lounge", "Gym"};
+    private static final String[] CONDITIONS = {"New", "Like New", "Good", "Fair", "Poor"};
+    private static final String[] PHRASES = {"Hi, is this still available?", "I think this is mine", "Where can I collect it?",
+            "Can we meet at the library?", "Thanks a lot!", "What colour is it?", "I'm free after 3pm",
+            "Could you send another photo?", "Sure, see you there", "It has my name written inside"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int users;
+    private final int lostFoundItems;
+    private final int items;
+    private final int marketplaceItems;
+    private final int chats;
+    private final int messages;
+    private final double skew;
+    private final int batchSize;
+    private final long seed;
+
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    public SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                                  @Value("${synthetic-data.users:10000}") int users,
+                                  @Value("${synthetic-data.lost-found-items:100000}") int lostFoundItems,
+                                  @Value("${synthetic-data.items:100000}") int items,
+                                  @Value("${synthetic-data.marketplace-items:50000}") int marketplaceItems,
+                                  @Value("${synthetic-data.chats:200000}") int chats,
+                                  @Value("${synthetic-data.messages:5000000}") int messages,
+                                  @Value("${synthetic-data.skew:3.0}") double skew,
+                                  @Value("${synthetic-data.batch-size:2000}") int batchSize,
+                                  @Value("${synthetic-data.seed:42}") long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.users = users;
+        this.lostFoundItems = lostFoundItems;
+        this.items = items;
+        this.marketplaceItems = marketplaceItems;
+        this.chats = chats;
+        this.messages = messages;
+        this.skew = skew;
+        this.batchSize = batchSize;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE email LIKE ?", Integer.class, EMAIL_PREFIX + "%" + EMAIL_DOMAIN);
+        if (existing != null && existing > 0) {
+            log.info("Synthetic data already present ({} users), skipping generation", existing);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] userIds = insertUsers(random);
+        long[][] lostFound = insertLostFoundItems(random, userIds);
+        insertItems(random, userIds);
+        insertMarketplaceItems(random, userIds);
+        insertChatsAndMessages(random, userIds, lostFound);
+        log.info("Synthetic data generated in {} s", (System.currentTimeMillis() - start) / 1000);
+    }
+
+    private long[] insertUsers(SplittableRandom random) {
+        long before = maxId("users", "id");
+        Batch batch = new Batch("INSERT INTO users (email, name, role, created_at, updated_at) VALUES (?, ?, ?, ?, ?)");
+        for (int i = 0; i < users; i++) {
+            Timestamp createdAt = Timestamp.valueOf(now.minusMinutes(random.nextInt(2 * 365 * 24 * 60)));
+            batch.add(EMAIL_PREFIX + i + EMAIL_DOMAIN, "Synthetic User " + i, i % 500 == 0 ? "ADMIN" : "USER",
+                    createdAt, createdAt);
+        }
+        batch.flush();
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id", Long.class, before)
+                .stream().mapToLong(Long::longValue).toArray();
+        log.info("Inserted {} users", ids.length);
+        return ids;
+    }
+
+    /**
+     * @return 新插入的失物招领 [id, user_id]，聊天按物品关联发布者
+     */
+    private long[][] insertLostFoundItems(SplittableRandom random, long[] userIds) {
+        long before = maxId("lost_found_items", "id");
+        Batch batch = new Batch("INSERT INTO lost_found_items (name, description, category, status, location, contact_info, "
+                + "date, user_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < lostFoundItems; i++) {
+            String category = CATEGORIES[skewed(random, CATEGORIES.length)];
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            Timestamp created = Timestamp.valueOf(createdAt);
+            batch.add(category + " #" + i,
+                    "Synthetic " + category.toLowerCase() + " reported near " + LOCATIONS[i % LOCATIONS.length],
+                    category, random.nextInt(3) == 0 ? "FOUND" : "LOST",
+                    LOCATIONS[skewed(random, LOCATIONS.length)], "contact" + i + EMAIL_DOMAIN,
+                    Date.valueOf(createdAt.toLocalDate().minusDays(random.nextInt(3))),
+                    userIds[skewed(random, userIds.length)], created, created);
+        }
+        batch.flush();
+        List<long[]> rows = jdbcTemplate.query("SELECT id, user_id FROM lost_found_items WHERE id > ? ORDER BY id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, before);
+        log.info("Inserted {} lost_found_items", rows.size());
+        return rows.toArray(new long[0][]);
+    }
+
+    private void insertItems(SplittableRandom random, long[] userIds) {
+        Batch batch = new Batch("INSERT INTO items (title, description, type, location, date_lost, category, contact, "
+                + "user_id, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < items; i++) {
+            String category = CATEGORIES[skewed(random, CATEGORIES.length)];
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(2 * 365 * 24 * 60));
+            batch.add(category + " item " + i, "Synthetic " + category.toLowerCase() + " listing " + i,
+                    random.nextBoolean() ? "lost" : "found", LOCATIONS[skewed(random, LOCATIONS.length)],
+                    Date.valueOf(createdAt.toLocalDate()), category, "contact" + i + EMAIL_DOMAIN,
+                    userIds[skewed(random, userIds.length)], Timestamp.valueOf(createdAt));
+        }
+        batch.flush();
+        log.info("Inserted {} items", items);
+    }
+
+    private void insertMarketplaceItems(SplittableRandom random, long[] userIds) {
+        Batch batch = new Batch("INSERT INTO marketplace_items (seller_id, item_name, category, price, item_condition, "
+                + "description, location, contact_email, status, views, is_active, date_posted) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < marketplaceItems; i++) {
+            String category = CATEGORIES[skewed(random, CATEGORIES.length)];
+            boolean sold = random.nextInt(5) == 0;
+            batch.add(userIds[skewed(random, userIds.length)], "Used " + category.toLowerCase() + " " + i, category,
+                    BigDecimal.valueOf(100 + random.nextInt(100_000), 2), CONDITIONS[random.nextInt(CONDITIONS.length)],
+                    "Synthetic marketplace listing " + i, LOCATIONS[skewed(random, LOCATIONS.length)],
+                    "seller" + i + EMAIL_DOMAIN, sold ? "Sold" : "For Sale",
+                    // 浏览量同样长尾
+                    (int) (10_000 * Math.pow(random.nextDouble(), skew * 2)), !sold,
+                    Timestamp.valueOf(now.minusMinutes(random.nextInt(365 * 24 * 60))));
+        }
+        batch.flush();
+        log.info("Inserted {} marketplace_items", marketplaceItems);
+    }
+
+    private void insertChatsAndMessages(SplittableRandom random, long[] userIds, long[][] lostFound) {
+        if (chats == 0 || lostFound.length == 0 || userIds.length < 2) {
+            return;
+        }
+        // 每个聊天至少一条消息，其余按长尾分布分配
+        int[] counts = new int[chats];
+        for (int i = 0; i < chats; i++) {
+            counts[i] = 1;
+        }
+        for (int i = chats; i < messages; i++) {
+            counts[skewed(random, chats)]++;
+        }
+
+        long before = maxId("chats", "id");
+        LocalDateTime[] createdAt = new LocalDateTime[chats];
+        int[] unread = new int[chats];
+        long[] owners = new long[chats];
+        long[] requesters = new long[chats];
+        Batch chatBatch = new Batch("INSERT INTO chats (item_id, owner_id, requester_id, created_at, updated_at, "
+                + "owner_unread_count, requester_unread_count) VALUES (?, ?, ?, ?, ?, ?, 0)");
+        for (int i = 0; i < chats; i++) {
+            long[] item = lostFound[skewed(random, lostFound.length)];
+            int requesterIndex = skewed(random, userIds.length);
+            if (userIds[requesterIndex] == item[1]) {
+                requesterIndex = (requesterIndex + 1) % userIds.length;
+            }
+            long requester = userIds[requesterIndex];
+            owners[i] = item[1];
+            requesters[i] = requester;
+            createdAt[i] = now.minusMinutes(1 + random.nextInt(365 * 24 * 60));
+            // 最后几条消息由联系者发出且未读，未读数与消息一致
+            unread[i] = random.nextInt(4) == 0 ? Math.min(counts[i], 1 + random.nextInt(5)) : 0;
+            chatBatch.add(item[0], owners[i], requester, Timestamp.valueOf(createdAt[i]),
+                    Timestamp.valueOf(lastMessageAt(createdAt[i], counts[i])), unread[i]);
+        }
+        chatBatch.flush();
+        long[] chatIds = jdbcTemplate.queryForList("SELECT id FROM chats WHERE id > ? ORDER BY id", Long.class, before)
+                .stream().mapToLong(Long::longValue).toArray();
+        log.info("Inserted {} chats", chatIds.length);
+
+        Batch messageBatch = new Batch("INSERT INTO chat_messages (chat_id, sender_id, content, is_read, created_at) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        long inserted = 0;
+        for (int i = 0; i < chatIds.length; i++) {
+            long gapSeconds = gapSeconds(createdAt[i], counts[i]);
+            for (int k = 0; k < counts[i]; k++) {
+                boolean unreadMessage = k >= counts[i] - unread[i];
+                long sender = unreadMessage || random.nextBoolean() ? requesters[i] : owners[i];
+                messageBatch.add(chatIds[i], sender, PHRASES[random.nextInt(PHRASES.length)], !unreadMessage,
+                        Timestamp.valueOf(createdAt[i].plusSeconds((k + 1) * gapSeconds)));
+                if (++inserted % 500_000 == 0) {
+                    log.info("Inserted {} / {} chat_messages", inserted, messages);
+                }
+            }
+        }
+        messageBatch.flush();
+        log.info("Inserted {} chat_messages", inserted);
+    }
+
+    // 消息在聊天创建到现在之间均匀分布
+    private long gapSeconds(LocalDateTime chatCreatedAt, int count) {
+        long span = Duration.between(chatCreatedAt, now).getSeconds();
+        return Math.max(1, span / (count + 1));
+    }
+
+    private LocalDateTime lastMessageAt(LocalDateTime chatCreatedAt, int count) {
+        return chatCreatedAt.plusSeconds(count * gapSeconds(chatCreatedAt, count));
+    }
+
+    /**
+     * [0, n) 的长尾分布：skew 越大越集中在小下标，skew=3 时前 1% 占约 21%
+     */
+    private int skewed(SplittableRandom random, int n) {
+        return Math.min(n - 1, (int) (n * Math.pow(random.nextDouble(), skew)));
+    }
+
+    private long maxId(String table, String column) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(" + column + "), 0) FROM " + table, Long.class);
+        return max != null ? max : 0L;
+    }
+
+    /**
+     * 攒够 batchSize 行执行一次 JDBC batch（配合 rewriteBatchedStatements 合并为多行 INSERT）
+     */
+    private final class Batch {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.segi.campusassistance.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * 虚拟线程模式（spring.threads.virtual.enabled=true，见 application-virtual.properties）的启动检查
+ * 开启后 Tomcat 请求和 @Scheduled 任务都运行在虚拟线程上；
+ * MySQL Connector/J 8.x 在 synchronized 块内读写 socket，执行 SQL 的虚拟线程会被固定在载体线程上，
+ * 连接池大小不小于载体线程数时，全部载体线程可能都被数据库调用占住，这里在启动时给出提示
+ */
+@Component
+public class VirtualThreadModeCheck {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadModeCheck.class);
+
+    // 不再在 synchronized 中做 socket I/O 的驱动主版本
+    private static final int VIRTUAL_THREAD_FRIENDLY_DRIVER_MAJOR = 9;
+
+    private final Environment environment;
+    private final DataSource dataSource;
+
+    public VirtualThreadModeCheck(Environment environment, DataSource dataSource) {
+        this.environment = environment;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        boolean requested = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        if (!requested) {
+            return;
+        }
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            log.warn("spring.threads.virtual.enabled is set but Java {} has no virtual threads (requires 21+); "
+                    + "requests keep running on the Tomcat platform thread pool", Runtime.version().feature());
+            return;
+        }
+
+        int carriers = Integer.getInteger("jdk.virtualThreadScheduler.parallelism",
+                Runtime.getRuntime().availableProcessors());
+        int poolSize = poolSize();
+        int driverMajor = driverMajorVersion();
+        log.info("Virtual thread mode active: {} carrier threads, JDBC pool size {}, MySQL driver {}.x",
+                carriers, poolSize, driverMajor);
+
+        if (driverMajor > 0 && driverMajor < VIRTUAL_THREAD_FRIENDLY_DRIVER_MAJOR && poolSize >= carriers) {
+            log.warn("Up to {} virtual threads can be pinned inside MySQL Connector/J {}.x while waiting on the database, "
+                            + "which is not fewer than the {} carrier threads. Start the JVM with "
+                            + "-Djdk.virtualThreadScheduler.parallelism={} or lower spring.datasource.hikari.maximum-pool-size; "
+                            + "-Djdk.tracePinnedThreads=short logs pinned stacks",
+                    poolSize, driverMajor, carriers, poolSize + 2);
+        }
+    }
+
+    private int poolSize() {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // 无法识别连接池时不做检查
+        }
+        return -1;
+    }
+
+    private int driverMajorVersion() {
+        String url = environment.getProperty("spring.datasource.url");
+        if (url == null) {
+            return -1;
+        }
+        try {
+            Driver driver = DriverManager.getDriver(url);
+            return driver.getMajorVersion();
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+}
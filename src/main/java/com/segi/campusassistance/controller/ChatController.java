@@ -3,6 +3,7 @@ package com.segi.campusassistance.controller;
 import com.segi.campusassistance.dto.ApiResponse;
 import com.segi.campusassistance.dto.ChatRequest;
 import com.segi.campusassistance.dto.ChatResponse;
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.MessageRequest;
 import com.segi.campusassistance.dto.MessageResponse;
 import com.segi.campusassistance.security.UserPrincipal;
@@ -18,6 +19,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/chats")
@@ -117,6 +119,25 @@ public class ChatController {
         }
     }
 
+    /**
+     * 获取当前用户所有聊天的未读消息总数（底部导航角标）
+     * GET /api/chats/unread-total
+     */
+    @GetMapping("/unread-total")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadTotal() {
+        try {
+            UserPrincipal principal = getCurrentUserPrincipal();
+            Long currentUserId = principal.getUserId();
+
+            long total = chatService.getUnreadTotal(currentUserId);
+
+            return ResponseEntity.ok(ApiResponse.success(Map.of("unreadTotal", total)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to fetch unread total: " + e.getMessage()));
+        }
+    }
+
     /**
      * 获取特定聊天详情
      * GET /api/chats/{chatId}
@@ -143,12 +164,16 @@ public class ChatController {
     }
 
     /**
-     * 获取聊天消息（分页）
-     * GET /api/chats/{chatId}/messages?page=0&size=20
+     * 获取聊天消息
+     * 键集分页：GET /api/chats/{chatId}/messages?limit=50&before={messageId} 或 after={messageId}
+     * 旧版分页：GET /api/chats/{chatId}/messages?page=0&size=20
      */
     @GetMapping("/{chatId}/messages")
-    public ResponseEntity<ApiResponse<Page<MessageResponse>>> getChatMessages(
+    public ResponseEntity<ApiResponse<?>> getChatMessages(
             @PathVariable Long chatId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "50") int size
     ) {
@@ -156,10 +181,20 @@ public class ChatController {
             UserPrincipal principal = getCurrentUserPrincipal();
             Long currentUserId = principal.getUserId();
 
+            // 传入 before/after/limit 任一参数时使用键集分页，否则保持原有的 page/size 行为
+            if (before != null || after != null || limit != null) {
+                CursorPage<MessageResponse> messages =
+                        chatService.getChatMessages(chatId, currentUserId, before, after, limit);
+                return ResponseEntity.ok(ApiResponse.page(messages));
+            }
+
             Pageable pageable = PageRequest.of(page, size);
             Page<MessageResponse> messages = chatService.getChatMessages(chatId, currentUserId, pageable);
 
             return ResponseEntity.ok(ApiResponse.success(messages));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (org.springframework.security.access.AccessDeniedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(ApiResponse.error(e.getMessage()));
@@ -1,10 +1,13 @@
 package com.segi.campusassistance.controller;
 
 import com.segi.campusassistance.dto.ApiResponse;
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.ItemRequest;
 import com.segi.campusassistance.dto.ItemResponse;
 import com.segi.campusassistance.security.UserPrincipal;
+import com.segi.campusassistance.service.FeedVersions;
 import com.segi.campusassistance.service.FileStorageService;
+import com.segi.campusassistance.storage.MediaUrlResolver;
 import com.segi.campusassistance.service.ItemService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -14,6 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -30,10 +34,15 @@ public class ItemController {
 
     private final ItemService itemService;
     private final FileStorageService fileStorageService;
+    private final MediaUrlResolver mediaUrlResolver;
+    private final FeedVersions feedVersions;
 
-    public ItemController(ItemService itemService, FileStorageService fileStorageService) {
+    public ItemController(ItemService itemService, FileStorageService fileStorageService,
+                          MediaUrlResolver mediaUrlResolver, FeedVersions feedVersions) {
         this.itemService = itemService;
         this.fileStorageService = fileStorageService;
+        this.mediaUrlResolver = mediaUrlResolver;
+        this.feedVersions = feedVersions;
     }
 
     /**
@@ -96,7 +105,7 @@ public class ItemController {
             }
 
             // 生成公共URL（使用请求的Host动态生成）
-            String imageUrl = fileStorageService.generatePublicUrl(filename, request);
+            String imageUrl = mediaUrlResolver.publicUrl(filename);
 
             // 返回响应（支持两种格式：url 和 imageUrl）
             Map<String, Object> response = new HashMap<>();
@@ -225,7 +234,10 @@ public class ItemController {
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String category,
             @RequestParam(required = false, defaultValue = "dateDesc") String sort,
-            Authentication authentication
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication,
+            ServletWebRequest webRequest
     ) {
         Long currentUserId = null;
         String currentUserRole = null;
@@ -235,9 +247,23 @@ public class ItemController {
             currentUserId = principal.getUserId();
             currentUserRole = principal.getRole();
         }
+
+        // 列表自上次请求以来没有变化时直接返回 304，不执行查询
+        String etag = feedVersions.etag(FeedVersions.Feed.ITEMS, webRequest.getRequest().getQueryString(),
+                currentUserId, currentUserRole);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        // 传入 cursor 或 limit 时使用键集分页，否则保持原有的完整列表行为
+        if (cursor != null || limit != null) {
+            CursorPage<ItemResponse> page = itemService.getItemsPage(
+                    search, status, category, sort, cursor, limit, currentUserId, currentUserRole);
+            return ResponseEntity.ok().cacheControl(FeedVersions.REVALIDATE).body(ApiResponse.page(page));
+        }
         
         List<ItemResponse> items = itemService.getItems(search, status, category, sort, currentUserId, currentUserRole);
-        return ResponseEntity.ok(ApiResponse.success(items));
+        return ResponseEntity.ok().cacheControl(FeedVersions.REVALIDATE).body(ApiResponse.success(items));
     }
 
     @GetMapping("/search")
@@ -261,8 +287,8 @@ public class ItemController {
                 currentUserRole = principal.getRole();
             }
             
-            // 使用 search 参数调用现有的搜索功能
-            List<ItemResponse> items = itemService.getItems(q.trim(), null, null, "dateDesc", currentUserId, currentUserRole);
+            // 使用 search 参数调用现有的搜索功能，结果按相关度排序（索引未就绪时按日期倒序）
+            List<ItemResponse> items = itemService.getItems(q.trim(), null, null, "relevance", currentUserId, currentUserRole);
             return ResponseEntity.ok(ApiResponse.success(items));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,6 +1,7 @@
 package com.segi.campusassistance.controller;
 
 import com.segi.campusassistance.dto.ApiResponse;
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.ItemsRequest;
 import com.segi.campusassistance.dto.ItemsResponse;
 import com.segi.campusassistance.security.UserPrincipal;
@@ -42,7 +43,10 @@ public class ItemsController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ItemsResponse>>> getAllItems(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<ItemsResponse>>> getAllItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
         try {
             Long currentUserId = null;
             String currentUserRole = null;
@@ -51,14 +55,19 @@ public class ItemsController {
                 UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
                 currentUserId = principal.getUserId();
                 currentUserRole = principal.getRole();
-                System.out.println("DEBUG: Authenticated user - userId: " + currentUserId + ", role: " + currentUserRole);
-            } else {
-                System.out.println("DEBUG: No authentication or invalid principal. Authentication: " + authentication);
             }
             
+            // 传入 cursor 或 limit 时使用键集分页，否则保持原有的完整列表行为
+            if (cursor != null || limit != null) {
+                CursorPage<ItemsResponse> page = itemsService.getItemsPage(cursor, limit, currentUserId, currentUserRole);
+                return ResponseEntity.ok(ApiResponse.page(page));
+            }
+
             List<ItemsResponse> items = itemsService.getAllItems(currentUserId, currentUserRole);
-            System.out.println("DEBUG: Returning " + items.size() + " items with currentUserId: " + currentUserId);
             return ResponseEntity.ok(ApiResponse.success(items));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to fetch items: " + e.getMessage()));
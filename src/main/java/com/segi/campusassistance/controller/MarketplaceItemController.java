@@ -1,10 +1,13 @@
 package com.segi.campusassistance.controller;
 
 import com.segi.campusassistance.dto.ApiResponse;
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.MarketplaceItemRequest;
 import com.segi.campusassistance.dto.MarketplaceItemResponse;
 import com.segi.campusassistance.security.UserPrincipal;
+import com.segi.campusassistance.service.FeedVersions;
 import com.segi.campusassistance.service.FileStorageService;
+import com.segi.campusassistance.storage.MediaUrlResolver;
 import com.segi.campusassistance.service.MarketplaceItemService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -14,6 +17,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -28,20 +32,29 @@ public class MarketplaceItemController {
 
     private final MarketplaceItemService marketplaceItemService;
     private final FileStorageService fileStorageService;
+    private final MediaUrlResolver mediaUrlResolver;
+    private final FeedVersions feedVersions;
 
-    public MarketplaceItemController(MarketplaceItemService marketplaceItemService, FileStorageService fileStorageService) {
+    public MarketplaceItemController(MarketplaceItemService marketplaceItemService, FileStorageService fileStorageService,
+                                     MediaUrlResolver mediaUrlResolver, FeedVersions feedVersions) {
         this.marketplaceItemService = marketplaceItemService;
         this.fileStorageService = fileStorageService;
+        this.mediaUrlResolver = mediaUrlResolver;
+        this.feedVersions = feedVersions;
     }
 
     /**
      * GET /api/marketplace/items
      * 获取所有商品列表（支持筛选）
+     * 可选 cursor / limit 参数启用键集分页，下一页游标在响应的 nextCursor 中返回
      */
     @GetMapping
     public ResponseEntity<ApiResponse<List<MarketplaceItemResponse>>> getItems(
             @RequestParam(required = false) String filter,
-            Authentication authentication
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication,
+            ServletWebRequest webRequest
     ) {
         try {
             Long currentUserId = null;
@@ -53,8 +66,25 @@ public class MarketplaceItemController {
                 currentUserRole = principal.getRole();
             }
 
+            // 列表自上次请求以来没有变化时直接返回 304，不执行查询
+            String etag = feedVersions.etag(FeedVersions.Feed.MARKETPLACE, webRequest.getRequest().getQueryString(),
+                    currentUserId, currentUserRole);
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            // 传入 cursor 或 limit 时使用键集分页，否则保持原有的完整列表行为
+            if (cursor != null || limit != null) {
+                CursorPage<MarketplaceItemResponse> page = marketplaceItemService.getItemsPage(
+                        filter, cursor, limit, currentUserId, currentUserRole);
+                return ResponseEntity.ok().cacheControl(FeedVersions.REVALIDATE).body(ApiResponse.page(page));
+            }
+
             List<MarketplaceItemResponse> items = marketplaceItemService.getItems(filter, currentUserId, currentUserRole);
-            return ResponseEntity.ok(ApiResponse.success(items));
+            return ResponseEntity.ok().cacheControl(FeedVersions.REVALIDATE).body(ApiResponse.success(items));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to fetch marketplace items: " + e.getMessage()));
@@ -151,7 +181,7 @@ public class MarketplaceItemController {
             }
 
             // 生成公共URL（使用请求的Host动态生成）
-            String imageUrl = fileStorageService.generatePublicUrl(filename, request);
+            String imageUrl = mediaUrlResolver.publicUrl(filename);
 
             // 返回响应
             Map<String, String> response = new HashMap<>();
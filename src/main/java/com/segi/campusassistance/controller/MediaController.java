@@ -0,0 +1,196 @@
+package com.segi.campusassistance.controller;
+
+import com.segi.campusassistance.storage.MediaFile;
+import com.segi.campusassistance.storage.MediaLocator;
+import com.segi.campusassistance.storage.Rendition;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 上传图片的静态文件服务
+ * 强 ETag（内容哈希）+ If-None-Match 304、单区间 Range、内容寻址文件 immutable 长缓存；
+ * 容器支持时通过 sendfile 零拷贝发送，否则用 FileChannel.transferTo
+ */
+@RestController
+public class MediaController {
+
+    private static final String PREFIX = "/uploads/";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+
+    private final MediaLocator mediaLocator;
+    private final UrlPathHelper urlPathHelper = UrlPathHelper.defaultInstance;
+
+    // 非内容寻址文件（旧的 UUID 文件名、尚未生成的缩略图）的缓存时间，过期后用 ETag 重新验证
+    @Value("${file.media.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    public MediaController(MediaLocator mediaLocator) {
+        this.mediaLocator = mediaLocator;
+    }
+
+    @GetMapping(PREFIX + "**")
+    public void serve(@RequestParam(value = Rendition.QUERY_PARAM, required = false) String size,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        String relativePath = path.startsWith(PREFIX) ? path.substring(PREFIX.length()) : null;
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+
+        MediaFile file = mediaLocator.locate(relativePath, Rendition.fromKey(size),
+                accept != null && accept.contains("image/webp"),
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ETAG, file.getEtag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, file.getLastModified());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, file.isImmutable() ? IMMUTABLE_CACHE : "public, max-age=" + maxAgeSeconds);
+        response.setHeader(HttpHeaders.VARY, "Accept, Accept-Encoding");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (notModified(request, file)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        response.setContentType(file.getContentType());
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        if (file.getContentEncoding() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, file.getContentEncoding());
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+        long[] range = rangeOf(request, file);
+        if (range != null) {
+            if (range.length == 0) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat 在请求处理结束后由内核直接把文件写入 socket
+            request.setAttribute(SENDFILE_FILENAME, file.getPath().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.getPath(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
+    }
+
+    private boolean notModified(HttpServletRequest request, MediaFile file) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(file.getEtag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && file.getLastModified() / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * 解析单个字节区间；没有 Range 或不支持的形式（多区间、If-Range 不匹配）返回 null 表示返回完整内容，
+     * 区间不可满足返回空数组
+     */
+    private long[] rangeOf(HttpServletRequest request, MediaFile file) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(file.getEtag())) {
+            long ifRangeDate = dateHeader(request, HttpHeaders.IF_RANGE);
+            if (ifRangeDate < 0 || file.getLastModified() / 1000 != ifRangeDate / 1000) {
+                return null;
+            }
+        }
+
+        long length = file.getLength();
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                // bytes=-N：最后 N 个字节
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1 ? length - 1 : Math.min(Long.parseLong(spec.substring(dash + 1)), length - 1);
+            }
+            if (start >= length || start > end) {
+                return new long[0];
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
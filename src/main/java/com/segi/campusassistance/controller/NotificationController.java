@@ -3,10 +3,14 @@ package com.segi.campusassistance.controller;
 import com.segi.campusassistance.dto.NotificationResponse;
 import com.segi.campusassistance.entity.Notification;
 import com.segi.campusassistance.repository.NotificationRepository;
+import com.segi.campusassistance.service.FeedVersions;
 import com.segi.campusassistance.service.NotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,12 +26,41 @@ public class NotificationController {
     
     @Autowired
     private NotificationService notificationService;
+
+    @Autowired
+    private FeedVersions feedVersions;
     
     // GET /api/notifications - Get all notifications
+    // GET /api/notifications?since={id} - Get only notifications created after the given id
     @GetMapping
-    public ResponseEntity<Map<String, List<NotificationResponse>>> getAllNotifications() {
-        List<NotificationResponse> notifications = notificationService.getLatestNotifications();
-        return ResponseEntity.ok(Map.of("data", notifications));
+    public ResponseEntity<Map<String, List<NotificationResponse>>> getAllNotifications(
+            @RequestParam(required = false) Long since,
+            ServletWebRequest webRequest) {
+        // 通知与用户无关，ETag 只区分查询参数；没有变化时返回 304
+        String etag = feedVersions.etag(FeedVersions.Feed.NOTIFICATIONS, webRequest.getRequest().getQueryString(), null, null);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<NotificationResponse> notifications = since != null
+                ? notificationService.getNotificationsSince(since)
+                : notificationService.getLatestNotifications();
+        return ResponseEntity.ok().cacheControl(FeedVersions.REVALIDATE).body(Map.of("data", notifications));
+    }
+    
+    // GET /api/notifications/stream - Server-sent events, resumable with Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) Long since) {
+        Long resumeFrom = since;
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            try {
+                resumeFrom = Long.valueOf(lastEventId.trim());
+            } catch (NumberFormatException ignored) {
+                // 无法识别的 Last-Event-ID，按新连接处理
+            }
+        }
+        return notificationService.subscribe(resumeFrom);
     }
     
     // GET /api/notifications/{id} - Get notification by ID
@@ -41,32 +74,22 @@ public class NotificationController {
     // POST /api/notifications - Create new notification
     @PostMapping
     public ResponseEntity<Notification> createNotification(@RequestBody Notification notification) {
-        if (notification.getTime() == null) {
-            notification.setTime(LocalDateTime.now());
-        }
-        Notification savedNotification = notificationRepository.save(notification);
+        Notification savedNotification = notificationService.createNotification(notification);
         return ResponseEntity.ok(savedNotification);
     }
     
     // PUT /api/notifications/{id} - Update notification
     @PutMapping("/{id}")
     public ResponseEntity<Notification> updateNotification(@PathVariable Long id, @RequestBody Notification notificationDetails) {
-        Optional<Notification> optionalNotification = notificationRepository.findById(id);
-        if (optionalNotification.isPresent()) {
-            Notification notification = optionalNotification.get();
-        notification.setMessage(notificationDetails.getMessage());
-        notification.setTime(notificationDetails.getTime() != null ? notificationDetails.getTime() : LocalDateTime.now());
-            Notification updatedNotification = notificationRepository.save(notification);
-            return ResponseEntity.ok(updatedNotification);
-        }
-        return ResponseEntity.notFound().build();
+        return notificationService.updateNotification(id, notificationDetails)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
     
     // DELETE /api/notifications/{id} - Delete notification
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNotification(@PathVariable Long id) {
-        if (notificationRepository.existsById(id)) {
-            notificationRepository.deleteById(id);
+        if (notificationService.deleteNotification(id)) {
             return ResponseEntity.ok().build();
         }
         return ResponseEntity.notFound().build();
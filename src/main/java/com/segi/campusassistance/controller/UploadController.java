@@ -1,6 +1,7 @@
 package com.segi.campusassistance.controller;
 
 import com.segi.campusassistance.service.FileStorageService;
+import com.segi.campusassistance.storage.MediaUrlResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,9 +18,11 @@ import java.util.Map;
 public class UploadController {
 
     private final FileStorageService fileStorageService;
+    private final MediaUrlResolver mediaUrlResolver;
 
-    public UploadController(FileStorageService fileStorageService) {
+    public UploadController(FileStorageService fileStorageService, MediaUrlResolver mediaUrlResolver) {
         this.fileStorageService = fileStorageService;
+        this.mediaUrlResolver = mediaUrlResolver;
     }
 
     @PostMapping(value = "/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -50,7 +53,7 @@ public class UploadController {
             }
             
             // 生成公共URL（使用请求的Host动态生成）
-            String imageUrl = fileStorageService.generatePublicUrl(filename, request);
+            String imageUrl = mediaUrlResolver.publicUrl(filename);
 
             // 返回简单JSON格式
             Map<String, String> response = new HashMap<>();
@@ -1,8 +1,10 @@
 package com.segi.campusassistance.controller;
 
+import com.segi.campusassistance.dto.AccountDeletionResponse;
 import com.segi.campusassistance.dto.UserProfileResponse;
 import com.segi.campusassistance.dto.UserProfileUpdateRequest;
 import com.segi.campusassistance.security.UserPrincipal;
+import com.segi.campusassistance.service.AccountDeletionService;
 import com.segi.campusassistance.service.UserProfileService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,7 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.net.URI;
 import java.util.Map;
 
 @RestController
@@ -28,9 +31,11 @@ import java.util.Map;
 public class UserController {
 
     private final UserProfileService userProfileService;
+    private final AccountDeletionService accountDeletionService;
 
-    public UserController(UserProfileService userProfileService) {
+    public UserController(UserProfileService userProfileService, AccountDeletionService accountDeletionService) {
         this.userProfileService = userProfileService;
+        this.accountDeletionService = accountDeletionService;
     }
 
     @GetMapping("/me")
@@ -56,10 +61,23 @@ public class UserController {
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * 删除账号：登记后台删除任务并立即返回 202，进度通过 GET /api/users/me/deletion 查询
+     */
     @DeleteMapping("/me")
-    public ResponseEntity<?> deleteCurrentUser(@AuthenticationPrincipal UserPrincipal principal) {
-        userProfileService.deleteCurrentUser(requirePrincipal(principal));
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Map<String, AccountDeletionResponse>> deleteCurrentUser(
+            @AuthenticationPrincipal UserPrincipal principal) {
+        AccountDeletionResponse response = accountDeletionService.requestDeletion(requirePrincipal(principal).getUserId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/users/me/deletion"))
+                .body(Map.of("data", response));
+    }
+
+    @GetMapping("/me/deletion")
+    public ResponseEntity<Map<String, AccountDeletionResponse>> getDeletionStatus(
+            @AuthenticationPrincipal UserPrincipal principal) {
+        AccountDeletionResponse response = accountDeletionService.getStatus(requirePrincipal(principal).getUserId());
+        return ResponseEntity.ok(Map.of("data", response));
     }
 
     private UserPrincipal requirePrincipal(UserPrincipal principal) {
@@ -3,6 +3,8 @@ package com.segi.campusassistance.dto;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class ApiResponse<T> {
 
@@ -15,10 +17,18 @@ public class ApiResponse<T> {
     @JsonProperty("message")
     private final String message;
 
+    @JsonProperty("nextCursor")
+    private final String nextCursor;
+
     private ApiResponse(boolean success, T data, String message) {
+        this(success, data, message, null);
+    }
+
+    private ApiResponse(boolean success, T data, String message, String nextCursor) {
         this.success = success;
         this.data = data;
         this.message = message;
+        this.nextCursor = nextCursor;
     }
 
     public static <T> ApiResponse<T> success(T data) {
@@ -29,6 +39,10 @@ public class ApiResponse<T> {
         return new ApiResponse<>(true, data, message);
     }
 
+    public static <T> ApiResponse<List<T>> page(CursorPage<T> page) {
+        return new ApiResponse<>(true, page.getItems(), null, page.getNextCursor());
+    }
+
     public static <T> ApiResponse<T> error(String message) {
         return new ApiResponse<>(false, null, message);
     }
@@ -51,5 +65,10 @@ public class ApiResponse<T> {
     public String getMessage() {
         return message;
     }
+
+    @JsonProperty("nextCursor")
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
 
@@ -1,5 +1,7 @@
 package com.segi.campusassistance.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.segi.campusassistance.storage.MediaUrlSerializer;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -11,6 +13,7 @@ public class AuthResponse {
     private String token;
     private String email;
     private String name;
+    @JsonSerialize(using = MediaUrlSerializer.class)
     private String picture;
     private String role;
 }
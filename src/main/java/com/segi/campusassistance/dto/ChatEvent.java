@@ -0,0 +1,89 @@
+package com.segi.campusassistance.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 通过 WebSocket 推送给聊天参与者的事件
+ */
+public class ChatEvent {
+
+    public static final String MESSAGE_RECEIVED = "MESSAGE_RECEIVED";
+    public static final String MESSAGE_READ = "MESSAGE_READ";
+
+    private String type;
+    private Long chatId;
+    // MESSAGE_RECEIVED：新消息内容
+    private MessageResponse message;
+    // MESSAGE_READ：执行已读操作的用户，以及被标记为已读的消息数量
+    private Long readerId;
+    private Integer readCount;
+    private LocalDateTime timestamp;
+
+    public static ChatEvent messageReceived(MessageResponse message) {
+        ChatEvent event = new ChatEvent();
+        event.setType(MESSAGE_RECEIVED);
+        event.setChatId(message.getChatId());
+        event.setMessage(message);
+        event.setTimestamp(message.getCreatedAt());
+        return event;
+    }
+
+    public static ChatEvent messageRead(Long chatId, Long readerId, int readCount) {
+        ChatEvent event = new ChatEvent();
+        event.setType(MESSAGE_READ);
+        event.setChatId(chatId);
+        event.setReaderId(readerId);
+        event.setReadCount(readCount);
+        event.setTimestamp(LocalDateTime.now());
+        return event;
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getChatId() {
+        return chatId;
+    }
+
+    public void setChatId(Long chatId) {
+        this.chatId = chatId;
+    }
+
+    public MessageResponse getMessage() {
+        return message;
+    }
+
+    public void setMessage(MessageResponse message) {
+        this.message = message;
+    }
+
+    public Long getReaderId() {
+        return readerId;
+    }
+
+    public void setReaderId(Long readerId) {
+        this.readerId = readerId;
+    }
+
+    public Integer getReadCount() {
+        return readCount;
+    }
+
+    public void setReadCount(Integer readCount) {
+        this.readCount = readCount;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
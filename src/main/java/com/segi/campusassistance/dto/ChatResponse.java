@@ -1,7 +1,9 @@
 package com.segi.campusassistance.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.segi.campusassistance.entity.Chat;
+import com.segi.campusassistance.storage.MediaUrlSerializer;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -11,14 +13,19 @@ public class ChatResponse {
     private Long itemId;
     private Long ownerId;
     private String ownerName;
+    @JsonSerialize(using = MediaUrlSerializer.class)
     private String ownerPicture;
     private Long requesterId;
     private String requesterName;
+    @JsonSerialize(using = MediaUrlSerializer.class)
     private String requesterPicture;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<Long> participantIds;
     private Long unreadCount;
+    private String lastMessage;
+    private Long lastMessageSenderId;
+    private LocalDateTime lastMessageAt;
 
     public static ChatResponse fromEntity(Chat chat, String ownerName, String ownerPicture, 
                                          String requesterName, String requesterPicture, Long unreadCount) {
@@ -80,6 +87,7 @@ public class ChatResponse {
     }
 
     @JsonProperty("ownerAvatar")
+    @JsonSerialize(using = MediaUrlSerializer.class)
     public String getOwnerAvatar() {
         return ownerPicture;
     }
@@ -109,6 +117,7 @@ public class ChatResponse {
     }
 
     @JsonProperty("requesterAvatar")
+    @JsonSerialize(using = MediaUrlSerializer.class)
     public String getRequesterAvatar() {
         return requesterPicture;
     }
@@ -144,5 +153,29 @@ public class ChatResponse {
     public void setUnreadCount(Long unreadCount) {
         this.unreadCount = unreadCount;
     }
+
+    public String getLastMessage() {
+        return lastMessage;
+    }
+
+    public void setLastMessage(String lastMessage) {
+        this.lastMessage = lastMessage;
+    }
+
+    public Long getLastMessageSenderId() {
+        return lastMessageSenderId;
+    }
+
+    public void setLastMessageSenderId(Long lastMessageSenderId) {
+        this.lastMessageSenderId = lastMessageSenderId;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
 }
 
@@ -0,0 +1,25 @@
+package com.segi.campusassistance.dto;
+
+import java.util.List;
+
+/**
+ * 键集分页结果：当前页数据 + 下一页游标（没有更多数据时为 null）
+ */
+public class CursorPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -1,13 +1,13 @@
 package com.segi.campusassistance.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.segi.campusassistance.entity.Item;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import jakarta.servlet.http.HttpServletRequest;
+import com.segi.campusassistance.storage.MediaUrlSerializer;
+import com.segi.campusassistance.storage.Rendition;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class ItemResponse {
 
@@ -19,6 +19,7 @@ public class ItemResponse {
     private String location;
     private String contactInfo;
     private LocalDate date;
+    @JsonSerialize(using = MediaUrlSerializer.class)
     private String imageUrl;
     private Long userId;
     private String userName;
@@ -37,8 +38,7 @@ public class ItemResponse {
         response.setLocation(item.getLocation());
         response.setContactInfo(item.getContactInfo());
         response.setDate(item.getDate());
-        // 修复图片URL中的旧IP地址
-        response.setImageUrl(fixImageUrl(item.getImageUrl()));
+        response.setImageUrl(item.getImageUrl());
         response.setUserId(item.getUserId());
         response.setCreatedAt(item.getCreatedAt());
         response.setUpdatedAt(item.getUpdatedAt());
@@ -132,6 +132,12 @@ public class ItemResponse {
         this.imageUrl = imageUrl;
     }
 
+    /** 各尺寸缩略图URL（thumb/card/detail），非本地上传的图片为 null */
+    @JsonSerialize(contentUsing = MediaUrlSerializer.class)
+    public Map<String, String> getImageRenditions() {
+        return Rendition.urlsFor(imageUrl);
+    }
+
     public Long getUserId() {
         return userId;
     }
@@ -179,43 +185,5 @@ public class ItemResponse {
     public void setCanDelete(Boolean canDelete) {
         this.canDelete = canDelete;
     }
-
-    /**
-     * 修复图片URL中的旧IP地址，替换为当前请求的IP
-     */
-    private static String fixImageUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            return imageUrl;
-        }
-        
-        // 如果URL不包含/uploads/，直接返回
-        if (!imageUrl.contains("/uploads/")) {
-            return imageUrl;
-        }
-        
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                // 获取当前请求的基础URL
-                String currentBaseUrl = ServletUriComponentsBuilder.fromRequestUri(request)
-                        .replacePath(null)
-                        .build()
-                        .toUriString();
-                
-                // 提取文件名
-                String filename = imageUrl.substring(imageUrl.lastIndexOf("/uploads/") + "/uploads/".length());
-                
-                // 如果URL包含旧IP（192.168.100.147），替换为当前IP
-                if (imageUrl.contains("192.168.100.147")) {
-                    return currentBaseUrl + "/uploads/" + filename;
-                }
-            }
-        } catch (Exception e) {
-            // 如果修复失败，返回原URL
-        }
-        
-        return imageUrl;
-    }
 }
 
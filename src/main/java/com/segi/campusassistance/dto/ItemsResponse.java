@@ -1,10 +1,8 @@
 package com.segi.campusassistance.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.segi.campusassistance.entity.Items;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import jakarta.servlet.http.HttpServletRequest;
+import com.segi.campusassistance.storage.MediaUrlSerializer;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -18,6 +16,7 @@ public class ItemsResponse {
     private String location;
     private LocalDate dateLost;
     private String category;
+    @JsonSerialize(using = MediaUrlSerializer.class)
     private String image;
     private String contact;
     private Long userId;
@@ -35,8 +34,7 @@ public class ItemsResponse {
         response.setLocation(items.getLocation());
         response.setDateLost(items.getDateLost());
         response.setCategory(items.getCategory());
-        // 修复图片URL中的旧IP地址
-        response.setImage(fixImageUrl(items.getImage()));
+        response.setImage(items.getImage());
         response.setContact(items.getContact());
         response.setUserId(items.getUserId());
         response.setCreatedAt(items.getCreatedAt());
@@ -55,16 +53,6 @@ public class ItemsResponse {
         response.setCanEdit(isOwner || isAdmin);
         response.setCanDelete(isOwner || isAdmin);
         
-        // 调试日志
-        System.out.println("DEBUG: Item " + items.getId() + 
-            " - itemUserId: " + items.getUserId() + 
-            ", currentUserId: " + currentUserId + 
-            ", currentUserRole: " + currentUserRole + 
-            ", isOwner: " + isOwner + 
-            ", isAdmin: " + isAdmin + 
-            ", canEdit: " + response.getCanEdit() + 
-            ", canDelete: " + response.getCanDelete());
-        
         return response;
     }
 
@@ -180,43 +168,5 @@ public class ItemsResponse {
     public void setUserName(String userName) {
         this.userName = userName;
     }
-
-    /**
-     * 修复图片URL中的旧IP地址，替换为当前请求的IP
-     */
-    private static String fixImageUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            return imageUrl;
-        }
-        
-        // 如果URL不包含/uploads/，直接返回
-        if (!imageUrl.contains("/uploads/")) {
-            return imageUrl;
-        }
-        
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                // 获取当前请求的基础URL
-                String currentBaseUrl = ServletUriComponentsBuilder.fromRequestUri(request)
-                        .replacePath(null)
-                        .build()
-                        .toUriString();
-                
-                // 提取文件名
-                String filename = imageUrl.substring(imageUrl.lastIndexOf("/uploads/") + "/uploads/".length());
-                
-                // 如果URL包含旧IP（192.168.100.147），替换为当前IP
-                if (imageUrl.contains("192.168.100.147")) {
-                    return currentBaseUrl + "/uploads/" + filename;
-                }
-            }
-        } catch (Exception e) {
-            // 如果修复失败，返回原URL
-        }
-        
-        return imageUrl;
-    }
 }
 
@@ -2,14 +2,14 @@ package com.segi.campusassistance.dto;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.segi.campusassistance.entity.MarketplaceItem;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import jakarta.servlet.http.HttpServletRequest;
+import com.segi.campusassistance.storage.MediaUrlSerializer;
+import com.segi.campusassistance.storage.Rendition;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 public class MarketplaceItemResponse {
 
@@ -42,6 +42,7 @@ public class MarketplaceItemResponse {
 
     @JsonProperty("imageUrl")
     @JsonAlias("image_url")
+    @JsonSerialize(using = MediaUrlSerializer.class)
     private String imageUrl;
 
     @JsonProperty("contactEmail")
@@ -86,8 +87,7 @@ public class MarketplaceItemResponse {
         response.setCondition(item.getCondition());
         response.setDescription(item.getDescription());
         response.setLocation(item.getLocation());
-        // 修复图片URL中的旧IP地址
-        response.setImageUrl(fixImageUrl(item.getImageUrl()));
+        response.setImageUrl(item.getImageUrl());
         response.setContactEmail(item.getContactEmail());
         response.setStatus(item.getStatus());
         response.setViews(item.getViews());
@@ -185,6 +185,13 @@ public class MarketplaceItemResponse {
         this.imageUrl = imageUrl;
     }
 
+    /** 各尺寸缩略图URL（thumb/card/detail），非本地上传的图片为 null */
+    @JsonProperty("imageRenditions")
+    @JsonSerialize(contentUsing = MediaUrlSerializer.class)
+    public Map<String, String> getImageRenditions() {
+        return Rendition.urlsFor(imageUrl);
+    }
+
     public String getContactEmail() {
         return contactEmail;
     }
@@ -256,43 +263,5 @@ public class MarketplaceItemResponse {
     public void setSellerEmail(String sellerEmail) {
         this.sellerEmail = sellerEmail;
     }
-
-    /**
-     * 修复图片URL中的旧IP地址，替换为当前请求的IP
-     */
-    private static String fixImageUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            return imageUrl;
-        }
-        
-        // 如果URL不包含/uploads/，直接返回
-        if (!imageUrl.contains("/uploads/")) {
-            return imageUrl;
-        }
-        
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                // 获取当前请求的基础URL
-                String currentBaseUrl = ServletUriComponentsBuilder.fromRequestUri(request)
-                        .replacePath(null)
-                        .build()
-                        .toUriString();
-                
-                // 提取文件名
-                String filename = imageUrl.substring(imageUrl.lastIndexOf("/uploads/") + "/uploads/".length());
-                
-                // 如果URL包含旧IP（192.168.100.147），替换为当前IP
-                if (imageUrl.contains("192.168.100.147")) {
-                    return currentBaseUrl + "/uploads/" + filename;
-                }
-            }
-        } catch (Exception e) {
-            // 如果修复失败，返回原URL
-        }
-        
-        return imageUrl;
-    }
 }
 
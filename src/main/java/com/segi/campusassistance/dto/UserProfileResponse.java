@@ -2,7 +2,12 @@ package com.segi.campusassistance.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.segi.campusassistance.entity.User;
+import com.segi.campusassistance.storage.MediaUrlSerializer;
+import com.segi.campusassistance.storage.Rendition;
+
+import java.util.Map;
 
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class UserProfileResponse {
@@ -60,6 +65,7 @@ public class UserProfileResponse {
     }
 
     @JsonProperty("photoUrl")
+    @JsonSerialize(using = MediaUrlSerializer.class)
     public String getPhotoUrl() {
         return photoUrl;
     }
@@ -67,6 +73,12 @@ public class UserProfileResponse {
     public void setPhotoUrl(String photoUrl) {
         this.photoUrl = photoUrl;
     }
+
+    @JsonProperty("photoRenditions")
+    @JsonSerialize(contentUsing = MediaUrlSerializer.class)
+    public Map<String, String> getPhotoRenditions() {
+        return Rendition.urlsFor(photoUrl);
+    }
 }
 
 
@@ -5,7 +5,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "chats")
+@Table(name = "chats", indexes = {
+        @Index(name = "idx_owner_id", columnList = "owner_id"),
+        @Index(name = "idx_requester_id", columnList = "requester_id")
+})
 public class Chat {
 
     @Id
@@ -27,6 +30,15 @@ public class Chat {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    // 各参与者的未读消息数，只通过 ChatRepository 中的原子 UPDATE 修改，实体保存时不会覆盖
+    @Column(name = "owner_unread_count", nullable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int ownerUnreadCount;
+
+    @Column(name = "requester_unread_count", nullable = false, updatable = false,
+            columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int requesterUnreadCount;
+
     @OneToMany(mappedBy = "chat", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ChatMessage> messages;
 
@@ -94,6 +106,36 @@ public class Chat {
         this.updatedAt = updatedAt;
     }
 
+    public int getOwnerUnreadCount() {
+        return ownerUnreadCount;
+    }
+
+    public void setOwnerUnreadCount(int ownerUnreadCount) {
+        this.ownerUnreadCount = ownerUnreadCount;
+    }
+
+    public int getRequesterUnreadCount() {
+        return requesterUnreadCount;
+    }
+
+    public void setRequesterUnreadCount(int requesterUnreadCount) {
+        this.requesterUnreadCount = requesterUnreadCount;
+    }
+
+    /**
+     * 指定参与者的未读消息数，非参与者返回 0
+     */
+    public long getUnreadCountFor(Long userId) {
+        long count = 0;
+        if (ownerId != null && ownerId.equals(userId)) {
+            count += ownerUnreadCount;
+        }
+        if (requesterId != null && requesterId.equals(userId)) {
+            count += requesterUnreadCount;
+        }
+        return count;
+    }
+
     public List<ChatMessage> getMessages() {
         return messages;
     }
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "lost_found_items")
+@Table(name = "lost_found_items", indexes = {
+        @Index(name = "idx_lost_found_date_id", columnList = "date, id"),
+        @Index(name = "idx_lost_found_image_url", columnList = "image_url")
+})
 public class Item {
 
     @Id
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", indexes = {
+        @Index(name = "idx_items_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_items_image", columnList = "image")
+})
 public class Items {
 
     @Id
@@ -6,7 +6,10 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "marketplace_items")
+@Table(name = "marketplace_items", indexes = {
+        @Index(name = "idx_marketplace_date_posted_id", columnList = "date_posted, item_id"),
+        @Index(name = "idx_marketplace_image_url", columnList = "image_url")
+})
 public class MarketplaceItem {
 
     @Id
@@ -44,7 +47,8 @@ public class MarketplaceItem {
     @Column(name = "status", length = 20)
     private String status; // 'For Sale', 'Sold'
 
-    @Column(name = "views")
+    // 浏览量只由 MarketplaceViewCounter 增量写回，实体更新时不覆盖该列
+    @Column(name = "views", updatable = false)
     private Integer views = 0;
 
     @Column(name = "is_active")
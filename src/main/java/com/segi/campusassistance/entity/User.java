@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_picture", columnList = "picture")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,7 +1,7 @@
 package com.segi.campusassistance.filter;
 
+import com.segi.campusassistance.security.JwtPrincipalCache;
 import com.segi.campusassistance.security.UserPrincipal;
-import com.segi.campusassistance.util.JwtUtil;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,7 +21,7 @@ import java.util.Collections;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtPrincipalCache jwtPrincipalCache;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -36,17 +36,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         try {
             final String jwt = authHeader.substring(7);
-            final Long userId = jwtUtil.extractUserId(jwt);
-            final String email = jwtUtil.extractEmail(jwt);
-            final String role = jwtUtil.extractRole(jwt);
-            
-            if (email != null && userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtUtil.validateToken(jwt, email)) {
-                    UserPrincipal principal = new UserPrincipal(userId, email, role);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                // 一次验签解析得到用户信息，相同令牌的后续请求直接命中缓存
+                UserPrincipal principal = jwtPrincipalCache.resolve(jwt);
+                if (principal != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             principal,
                             null,
-                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.getRole()))
                     );
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
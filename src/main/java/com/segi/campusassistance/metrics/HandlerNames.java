@@ -0,0 +1,32 @@
+package com.segi.campusassistance.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 请求对应的控制器方法名（如 ChatController.getMyChats），用作指标标签
+ */
+final class HandlerNames {
+
+    static final String NONE = "none";
+
+    private HandlerNames() {
+    }
+
+    static String of(HttpServletRequest request) {
+        if (request == null) {
+            return NONE;
+        }
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NONE;
+    }
+
+    static String uriPattern(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
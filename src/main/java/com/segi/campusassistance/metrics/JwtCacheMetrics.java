@@ -0,0 +1,36 @@
+package com.segi.campusassistance.metrics;
+
+import com.segi.campusassistance.security.JwtPrincipalCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * JWT 验签缓存的命中情况，与 Spring Cache 的 cache.gets / cache.size 使用相同的指标名
+ */
+@Component
+public class JwtCacheMetrics implements MeterBinder {
+
+    private static final String CACHE_NAME = "jwtPrincipals";
+
+    private final JwtPrincipalCache cache;
+
+    public JwtCacheMetrics(JwtPrincipalCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, JwtPrincipalCache::hitCount)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, JwtPrincipalCache::missCount)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", cache, JwtPrincipalCache::size)
+                .tags("cache", CACHE_NAME)
+                .register(registry);
+    }
+}
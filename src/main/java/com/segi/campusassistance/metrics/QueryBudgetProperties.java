@@ -0,0 +1,75 @@
+package com.segi.campusassistance.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 每个请求的 SQL 语句数 / 数据库耗时预算
+ * 默认值适用于所有接口，routes 按控制器方法覆盖，例如
+ * metrics.query-budget.routes[ChatController.getMyChats].max-statements=4
+ */
+@ConfigurationProperties(prefix = "metrics.query-budget")
+public class QueryBudgetProperties {
+
+    private int maxStatements = 20;
+    private long maxDbTimeMs = 250;
+    private Map<String, Route> routes = new HashMap<>();
+
+    public int maxStatementsFor(String handler) {
+        Route route = routes.get(handler);
+        return route != null && route.getMaxStatements() != null ? route.getMaxStatements() : maxStatements;
+    }
+
+    public long maxDbTimeMsFor(String handler) {
+        Route route = routes.get(handler);
+        return route != null && route.getMaxDbTimeMs() != null ? route.getMaxDbTimeMs() : maxDbTimeMs;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public long getMaxDbTimeMs() {
+        return maxDbTimeMs;
+    }
+
+    public void setMaxDbTimeMs(long maxDbTimeMs) {
+        this.maxDbTimeMs = maxDbTimeMs;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+
+        private Integer maxStatements;
+        private Long maxDbTimeMs;
+
+        public Integer getMaxStatements() {
+            return maxStatements;
+        }
+
+        public void setMaxStatements(Integer maxStatements) {
+            this.maxStatements = maxStatements;
+        }
+
+        public Long getMaxDbTimeMs() {
+            return maxDbTimeMs;
+        }
+
+        public void setMaxDbTimeMs(Long maxDbTimeMs) {
+            this.maxDbTimeMs = maxDbTimeMs;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.segi.campusassistance.metrics;
+
+/**
+ * 按线程统计 JDBC 语句数和数据库耗时
+ * RequestMetricsFilter 为每个 HTTP 请求开启一个范围；测试中也可以直接使用：
+ *
+ * <pre>
+ * try (QueryTracker.Scope scope = QueryTracker.track()) {
+ *     mockMvc.perform(get("/api/chats/my"));
+ *     scope.assertStatementsAtMost(4);
+ * }
+ * </pre>
+ *
+ * 范围可以嵌套，内层记录的语句同时计入外层；在其他线程上执行的语句不计入
+ */
+public final class QueryTracker {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryTracker() {
+    }
+
+    public static Scope track() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 由 JDBC 代理在每条语句执行后调用
+     */
+    static void record(long elapsedNanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.dbTimeNanos += elapsedNanos;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private int statements;
+        private long dbTimeNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getDbTimeNanos() {
+            return dbTimeNanos;
+        }
+
+        public double getDbTimeMillis() {
+            return dbTimeNanos / 1_000_000.0;
+        }
+
+        public Scope assertStatementsAtMost(int max) {
+            if (statements > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but " + statements + " were executed");
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent != null) {
+                    CURRENT.set(parent);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        }
+    }
+}
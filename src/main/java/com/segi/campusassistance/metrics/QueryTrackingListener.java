@@ -0,0 +1,58 @@
+package com.segi.campusassistance.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+
+/**
+ * JDBC 代理的监听器：每条语句（包括 JdbcTemplate 和原生 SQL）执行后计入当前请求和 db.statements 指标
+ */
+public class QueryTrackingListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "queryTracking.startNanos";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private volatile Counter statements;
+
+    public QueryTrackingListener(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsed = start != null ? System.nanoTime() - start : execInfo.getElapsedTime() * 1_000_000L;
+        QueryTracker.record(elapsed);
+
+        Counter counter = statementsCounter();
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    // 数据源先于 MeterRegistry 创建，首次执行语句时再注册计数器
+    private Counter statementsCounter() {
+        Counter counter = statements;
+        if (counter == null) {
+            MeterRegistry registry = registryProvider.getIfAvailable();
+            if (registry == null) {
+                return null;
+            }
+            counter = Counter.builder("db.statements")
+                    .description("JDBC statements executed")
+                    .register(registry);
+            statements = counter;
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,160 @@
+package com.segi.campusassistance.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 统计每个请求执行的 SQL 语句数和数据库耗时：
+ * 记录 db.statements.per.request / db.time.per.request（按控制器方法打标签），
+ * 通过 Server-Timing 响应头返回给客户端，超出 metrics.query-budget 预算时记录警告
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsFilter.class);
+
+    private final MeterRegistry registry;
+    private final QueryBudgetProperties budget;
+    private final boolean serverTimingEnabled;
+
+    public RequestMetricsFilter(MeterRegistry registry,
+                                QueryBudgetProperties budget,
+                                @Value("${metrics.server-timing.enabled:true}") boolean serverTimingEnabled) {
+        this.registry = registry;
+        this.budget = budget;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        QueryTracker.Scope scope = QueryTracker.track();
+        ServerTimingResponse timingResponse = serverTimingEnabled ? new ServerTimingResponse(response, scope, start) : null;
+        try {
+            chain.doFilter(request, timingResponse != null ? timingResponse : response);
+            if (timingResponse != null) {
+                timingResponse.addServerTiming();
+            }
+        } finally {
+            scope.close();
+            record(request, scope);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryTracker.Scope scope) {
+        String handler = HandlerNames.of(request);
+        String uri = HandlerNames.uriPattern(request);
+        DistributionSummary.builder("db.statements.per.request")
+                .description("SQL statements executed while handling one HTTP request")
+                .tag("handler", handler)
+                .tag("uri", uri)
+                .register(registry)
+                .record(scope.getStatements());
+        Timer.builder("db.time.per.request")
+                .description("Time spent in JDBC calls while handling one HTTP request")
+                .tag("handler", handler)
+                .tag("uri", uri)
+                .register(registry)
+                .record(scope.getDbTimeNanos(), TimeUnit.NANOSECONDS);
+
+        int maxStatements = budget.maxStatementsFor(handler);
+        long maxDbTimeMs = budget.maxDbTimeMsFor(handler);
+        if (scope.getStatements() <= maxStatements && scope.getDbTimeMillis() <= maxDbTimeMs) {
+            return;
+        }
+        Counter.builder("db.budget.exceeded")
+                .description("Requests that exceeded their SQL statement or DB time budget")
+                .tag("handler", handler)
+                .register(registry)
+                .increment();
+        // 此时响应通常已经提交，这里只记录；需要让测试失败时用 QueryTracker.Scope.assertStatementsAtMost 或读取 Server-Timing 头
+        log.warn(String.format(Locale.ROOT, "%s %s (%s) executed %d SQL statements in %.1f ms, budget is %d statements / %d ms",
+                request.getMethod(), request.getRequestURI(), handler,
+                scope.getStatements(), scope.getDbTimeMillis(), maxStatements, maxDbTimeMs));
+    }
+
+    /**
+     * 在响应提交前写入 Server-Timing 头：响应体开始输出、flush、sendError/sendRedirect 时，
+     * 或者请求处理结束时仍未提交
+     */
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+        private final QueryTracker.Scope scope;
+        private final long start;
+        private boolean added;
+
+        ServerTimingResponse(HttpServletResponse response, QueryTracker.Scope scope, long start) {
+            super(response);
+            this.scope = scope;
+            this.start = start;
+        }
+
+        void addServerTiming() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            double totalMillis = (System.nanoTime() - start) / 1_000_000.0;
+            setHeader("Server-Timing", String.format(Locale.ROOT, "db;dur=%.1f;desc=\"%d statements\", app;dur=%.1f",
+                    scope.getDbTimeMillis(), scope.getStatements(), totalMillis));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
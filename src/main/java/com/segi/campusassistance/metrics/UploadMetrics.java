@@ -0,0 +1,35 @@
+package com.segi.campusassistance.metrics;
+
+import com.segi.campusassistance.storage.FileStoredEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 上传字节数（upload.bytes），按是否命中内容寻址去重区分
+ */
+@Component
+public class UploadMetrics {
+
+    private final DistributionSummary stored;
+    private final DistributionSummary deduplicated;
+
+    public UploadMetrics(MeterRegistry registry) {
+        this.stored = summary(registry, "false");
+        this.deduplicated = summary(registry, "true");
+    }
+
+    @EventListener
+    public void onFileStored(FileStoredEvent event) {
+        (event.getStoredFile().isDeduplicated() ? deduplicated : stored).record(event.getStoredFile().getSize());
+    }
+
+    private static DistributionSummary summary(MeterRegistry registry, String deduplicated) {
+        return DistributionSummary.builder("upload.bytes")
+                .description("Size of uploaded files")
+                .baseUnit("bytes")
+                .tag("deduplicated", deduplicated)
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.segi.campusassistance.repository;
+
+import com.segi.campusassistance.entity.AccountDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AccountDeletionJobRepository extends JpaRepository<AccountDeletionJob, Long> {
+
+    Optional<AccountDeletionJob> findByUserId(Long userId);
+
+    // 未完成的任务（启动后恢复、失败重试）
+    List<AccountDeletionJob> findByStatusIn(Collection<AccountDeletionJob.Status> statuses);
+}
@@ -9,6 +9,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -20,17 +22,45 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
     // 分页查询消息
     Page<ChatMessage> findByChatIdOrderByCreatedAtDesc(Long chatId, Pageable pageable);
 
+    // 键集分页：最新的一页（按 idx_chat_created 倒序读取，LIMIT 由 Pageable 提供）
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatId = :chatId ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findLatest(@Param("chatId") Long chatId, Pageable limit);
+
+    // 键集分页：游标消息之前（更早）的消息，倒序
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatId = :chatId " +
+           "AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<ChatMessage> findBefore(@Param("chatId") Long chatId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable limit);
+
+    // 键集分页：游标消息之后（更新）的消息，正序
+    @Query("SELECT m FROM ChatMessage m WHERE m.chatId = :chatId " +
+           "AND (m.createdAt > :createdAt OR (m.createdAt = :createdAt AND m.id > :id)) " +
+           "ORDER BY m.createdAt ASC, m.id ASC")
+    List<ChatMessage> findAfter(@Param("chatId") Long chatId,
+                                @Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable limit);
+
     // 查询聊天的最后一条消息
     java.util.Optional<ChatMessage> findTopByChatIdOrderByCreatedAtDesc(Long chatId);
 
     // 标记消息为已读
     @Modifying
-    @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatId = :chatId AND m.senderId != :userId")
+    @Query("UPDATE ChatMessage m SET m.isRead = true WHERE m.chatId = :chatId AND m.senderId != :userId AND m.isRead = false")
     int markAsReadByChatIdAndUserId(@Param("chatId") Long chatId, @Param("userId") Long userId);
 
-    // 统计未读消息数量
-    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatId = :chatId AND m.senderId != :userId AND m.isRead = false")
-    Long countUnreadMessages(@Param("chatId") Long chatId, @Param("userId") Long userId);
+    // 查询每个聊天的最后一条消息（收件箱预览）
+    @Query("SELECT m FROM ChatMessage m WHERE m.id IN " +
+           "(SELECT MAX(m2.id) FROM ChatMessage m2 WHERE m2.chatId IN :chatIds GROUP BY m2.chatId)")
+    List<ChatMessage> findLastMessagesByChatIds(@Param("chatIds") Collection<Long> chatIds);
+
+    // 账号删除：按块读取用户参与的聊天中的消息ID
+    @Query("SELECT m.id FROM ChatMessage m WHERE m.chatId IN " +
+           "(SELECT c.id FROM Chat c WHERE c.ownerId = :userId OR c.requesterId = :userId) ORDER BY m.id")
+    List<Long> findIdsByParticipant(@Param("userId") Long userId, Pageable limit);
 
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("DELETE FROM ChatMessage m WHERE m.chatId IN :chatIds")
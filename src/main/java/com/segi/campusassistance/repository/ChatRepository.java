@@ -1,17 +1,25 @@
 package com.segi.campusassistance.repository;
 
 import com.segi.campusassistance.entity.Chat;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
 
+    String OWNER_UNREAD_SQL = "SELECT COUNT(*) FROM chat_messages m " +
+            "WHERE m.chat_id = c.id AND m.is_read = FALSE AND m.sender_id <> c.owner_id";
+    String REQUESTER_UNREAD_SQL = "SELECT COUNT(*) FROM chat_messages m " +
+            "WHERE m.chat_id = c.id AND m.is_read = FALSE AND m.sender_id <> c.requester_id";
+
     // 根据itemId和两个用户ID查找聊天
     @Query("SELECT c FROM Chat c WHERE c.itemId = :itemId " +
            "AND ((c.ownerId = :userId1 AND c.requesterId = :userId2) " +
@@ -37,5 +45,58 @@ public interface ChatRepository extends JpaRepository<Chat, Long> {
                                          @Param("userId2") Long userId2);
 
     List<Chat> findByOwnerIdOrRequesterId(Long ownerId, Long requesterId);
+
+    // 账号删除：按块读取用户参与的聊天ID
+    @Query("SELECT c.id FROM Chat c WHERE c.ownerId = :userId OR c.requesterId = :userId ORDER BY c.id")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable limit);
+
+    boolean existsByOwnerIdOrRequesterId(Long ownerId, Long requesterId);
+
+    // 新消息：接收方未读数 +1，并刷新会话更新时间（单条 UPDATE，并发发送不会丢失计数）
+    @Modifying
+    @Query("UPDATE Chat c SET " +
+           "c.ownerUnreadCount = c.ownerUnreadCount + CASE WHEN c.ownerId = :senderId THEN 0 ELSE 1 END, " +
+           "c.requesterUnreadCount = c.requesterUnreadCount + CASE WHEN c.requesterId = :senderId THEN 0 ELSE 1 END, " +
+           "c.updatedAt = :now " +
+           "WHERE c.id = :chatId")
+    int incrementUnread(@Param("chatId") Long chatId,
+                        @Param("senderId") Long senderId,
+                        @Param("now") LocalDateTime now);
+
+    // 已读：从读者的未读数中减去本次标记的消息数；
+    // 不直接置 0，避免把标记之后刚到达的消息一并清掉
+    @Modifying
+    @Query("UPDATE Chat c SET " +
+           "c.ownerUnreadCount = CASE WHEN c.ownerId = :userId THEN " +
+           "(CASE WHEN c.ownerUnreadCount > :count THEN c.ownerUnreadCount - :count ELSE 0 END) " +
+           "ELSE c.ownerUnreadCount END, " +
+           "c.requesterUnreadCount = CASE WHEN c.requesterId = :userId THEN " +
+           "(CASE WHEN c.requesterUnreadCount > :count THEN c.requesterUnreadCount - :count ELSE 0 END) " +
+           "ELSE c.requesterUnreadCount END " +
+           "WHERE c.id = :chatId")
+    int decrementUnread(@Param("chatId") Long chatId,
+                        @Param("userId") Long userId,
+                        @Param("count") int count);
+
+    // 用户所有聊天的未读总数（底部导航角标）
+    @Query("SELECT COALESCE(SUM(" +
+           "CASE WHEN c.ownerId = :userId THEN c.ownerUnreadCount ELSE 0 END + " +
+           "CASE WHEN c.requesterId = :userId THEN c.requesterUnreadCount ELSE 0 END), 0) " +
+           "FROM Chat c WHERE c.ownerId = :userId OR c.requesterId = :userId")
+    Long sumUnreadByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT MAX(c.id) FROM Chat c")
+    Long findMaxId();
+
+    // 按 chat_messages 重新计算 [fromId, toId] 范围内聊天的计数，只改写与实际不一致的行
+    @Modifying
+    @Query(value = "UPDATE chats c SET " +
+           "c.owner_unread_count = (" + OWNER_UNREAD_SQL + "), " +
+           "c.requester_unread_count = (" + REQUESTER_UNREAD_SQL + ") " +
+           "WHERE c.id BETWEEN :fromId AND :toId " +
+           "AND (c.owner_unread_count <> (" + OWNER_UNREAD_SQL + ") " +
+           "OR c.requester_unread_count <> (" + REQUESTER_UNREAD_SQL + "))",
+           nativeQuery = true)
+    int reconcileUnreadCounts(@Param("fromId") Long fromId, @Param("toId") Long toId);
 }
 
@@ -1,10 +1,16 @@
 package com.segi.campusassistance.repository;
 
 import com.segi.campusassistance.entity.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +18,24 @@ public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificat
 
     Optional<Item> findByIdAndUserId(Long id, Long userId);
 
+    @Query("SELECT i.id FROM Item i WHERE i.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT i.imageUrl FROM Item i WHERE i.userId = :userId AND i.imageUrl IS NOT NULL")
+    List<String> findImageUrlsByUserId(@Param("userId") Long userId);
+
+    // 引用计数：imageUrl 等于指定存储键（/uploads/...）的记录数
+    long countByImageUrl(String key);
+
+    // 旧数据中带主机的本地上传URL改写为存储键
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.imageUrl = SUBSTRING(i.imageUrl, LOCATE('/uploads/', i.imageUrl)) WHERE i.imageUrl LIKE 'http%/uploads/%'")
+    int normalizeLegacyImageUrls();
+
     void deleteByUserId(Long userId);
+
+    List<Item> findByUserIdOrderByIdAsc(Long userId, Pageable limit);
+
+    boolean existsByUserId(Long userId);
 }
@@ -1,21 +1,35 @@
 package com.segi.campusassistance.repository;
 
 import com.segi.campusassistance.entity.Items;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Repository
-public interface ItemsRepository extends JpaRepository<Items, Long> {
+public interface ItemsRepository extends JpaRepository<Items, Long>, JpaSpecificationExecutor<Items> {
 
     List<Items> findByUserId(Long userId);
 
+    long countByImage(String key);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Items i SET i.image = SUBSTRING(i.image, LOCATE('/uploads/', i.image)) WHERE i.image LIKE 'http%/uploads/%'")
+    int normalizeLegacyImages();
+
     @Modifying
     @Query("DELETE FROM Items i WHERE i.userId = :userId")
     void deleteByUserId(@Param("userId") Long userId);
+
+    List<Items> findByUserIdOrderByIdAsc(Long userId, Pageable limit);
+
+    boolean existsByUserId(Long userId);
 }
 
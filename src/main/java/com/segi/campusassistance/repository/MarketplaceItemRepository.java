@@ -1,13 +1,16 @@
 package com.segi.campusassistance.repository;
 
 import com.segi.campusassistance.entity.MarketplaceItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,10 +18,23 @@ public interface MarketplaceItemRepository extends JpaRepository<MarketplaceItem
 
     Optional<MarketplaceItem> findByItemIdAndSellerId(Long itemId, Long sellerId);
 
+    @Query("SELECT m.itemId FROM MarketplaceItem m WHERE m.sellerId = :sellerId")
+    List<Long> findIdsBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query("SELECT m.imageUrl FROM MarketplaceItem m WHERE m.sellerId = :sellerId AND m.imageUrl IS NOT NULL")
+    List<String> findImageUrlsBySellerId(@Param("sellerId") Long sellerId);
+
+    long countByImageUrl(String key);
+
     @Modifying
-    @Query("UPDATE MarketplaceItem m SET m.views = m.views + 1 WHERE m.itemId = :itemId")
-    void incrementViews(@Param("itemId") Long itemId);
+    @Transactional
+    @Query("UPDATE MarketplaceItem m SET m.imageUrl = SUBSTRING(m.imageUrl, LOCATE('/uploads/', m.imageUrl)) WHERE m.imageUrl LIKE 'http%/uploads/%'")
+    int normalizeLegacyImageUrls();
 
     void deleteBySellerId(Long sellerId);
+
+    List<MarketplaceItem> findBySellerIdOrderByItemIdAsc(Long sellerId, Pageable limit);
+
+    boolean existsBySellerId(Long sellerId);
 }
 
@@ -1,6 +1,7 @@
 package com.segi.campusassistance.repository;
 
 import com.segi.campusassistance.entity.Notification;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +13,9 @@ import java.util.List;
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     
+    // Find notifications created after the given id (incremental catch-up)
+    List<Notification> findByIdGreaterThan(Long id, Sort sort);
+    
     // Find notifications by time range
     List<Notification> findByTimeBetween(LocalDateTime startTime, LocalDateTime endTime);
     
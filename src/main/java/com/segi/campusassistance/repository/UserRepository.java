@@ -2,34 +2,28 @@ package com.segi.campusassistance.repository;
 
 import com.segi.campusassistance.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    long countByPicture(String key);
 
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.picture = SUBSTRING(u.picture, LOCATE('/uploads/', u.picture)) WHERE u.picture LIKE 'http%/uploads/%'")
+    int normalizeLegacyPictures();
 
+    // 批量查询用户展示信息（一次 IN 查询）
+    @Query("SELECT u.id AS id, u.name AS name, u.email AS email, u.picture AS picture FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
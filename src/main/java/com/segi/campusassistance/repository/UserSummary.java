@@ -0,0 +1,15 @@
+package com.segi.campusassistance.repository;
+
+/**
+ * 用户信息投影：列表接口只需要作者/卖家的展示字段，不加载完整的 User 实体
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getName();
+
+    String getEmail();
+
+    String getPicture();
+}
@@ -0,0 +1,275 @@
+package com.segi.campusassistance.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SimpleCollector;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于 Lucene 的进程内倒排索引（内存目录）
+ * 支持分词、相关度排序、前缀匹配和拼写容错（编辑距离）
+ */
+public class LuceneSearchIndex implements SearchIndex, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LuceneSearchIndex.class);
+
+    private static final String ID_FIELD = "_id";
+    // 主键的 doc values，收集全部命中时按文档直接读取，不加载存储字段
+    private static final String ID_VALUE_FIELD = "_id_value";
+
+    private static final float EXACT_BOOST = 3.0f;
+    private static final float PREFIX_BOOST = 1.5f;
+    private static final float FUZZY_BOOST = 1.0f;
+
+    private final String name;
+    private final Map<String, Float> fieldBoosts;
+    private final Analyzer analyzer;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private volatile boolean available;
+
+    /**
+     * @param fieldBoosts 可搜索字段及其权重，例如名称字段权重高于描述
+     */
+    public LuceneSearchIndex(String name, Map<String, Float> fieldBoosts) {
+        this.name = name;
+        this.fieldBoosts = fieldBoosts;
+        // 不使用停用词，保证 "the"、"a" 之类的物品名称也能搜到
+        this.analyzer = new StandardAnalyzer(CharArraySet.EMPTY_SET);
+        try {
+            this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open search index " + name, e);
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Override
+    public void rebuild(Iterable<SearchDocument> documents) {
+        long count = 0;
+        try {
+            // 使用 updateDocument 而不是 addDocument，与构建期间的实时写入互不重复
+            for (SearchDocument document : documents) {
+                writer.updateDocument(idTerm(document.getId()), toLuceneDocument(document));
+                count++;
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to rebuild search index " + name, e);
+        }
+        available = true;
+        log.info("Search index '{}' built with {} documents", name, count);
+    }
+
+    @Override
+    public void upsert(SearchDocument document) {
+        try {
+            writer.updateDocument(idTerm(document.getId()), toLuceneDocument(document));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to index document " + document.getId() + " in " + name, e);
+        }
+    }
+
+    @Override
+    public void delete(Long id) {
+        try {
+            writer.deleteDocuments(idTerm(id));
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to remove document " + id + " from " + name, e);
+        }
+    }
+
+    @Override
+    public List<Long> search(String queryText, int maxHits) {
+        Query query = buildQuery(queryText);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, maxHits);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(scoreDoc.doc).get(ID_FIELD)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed on index " + name, e);
+        }
+    }
+
+    @Override
+    public Set<Long> matchingIds(String queryText) {
+        Query query = buildQuery(queryText);
+        if (query == null) {
+            return Set.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                IdCollector collector = new IdCollector();
+                searcher.search(query, collector);
+                return collector.ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search failed on index " + name, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    /**
+     * 每个查询词都必须命中（AND 语义，与原来的 LIKE 查询一致），
+     * 单个词在各字段上可以精确、前缀或拼写容错命中，精确命中得分最高
+     */
+    private Query buildQuery(String queryText) {
+        List<String> tokens = analyze(queryText);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            BooleanQuery.Builder tokenQuery = new BooleanQuery.Builder();
+            for (Map.Entry<String, Float> field : fieldBoosts.entrySet()) {
+                float fieldBoost = field.getValue();
+                Term term = new Term(field.getKey(), token);
+
+                tokenQuery.add(new BoostQuery(new TermQuery(term), EXACT_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+                if (token.length() >= 2) {
+                    tokenQuery.add(new BoostQuery(new PrefixQuery(term), PREFIX_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+                }
+                int maxEdits = maxEditsFor(token);
+                if (maxEdits > 0) {
+                    tokenQuery.add(new BoostQuery(new FuzzyQuery(term, maxEdits), FUZZY_BOOST * fieldBoost), BooleanClause.Occur.SHOULD);
+                }
+            }
+            query.add(tokenQuery.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private int maxEditsFor(String token) {
+        int length = token.codePointCount(0, token.length());
+        if (length < 4) {
+            return 0;
+        }
+        return length < 8 ? 1 : 2;
+    }
+
+    private List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        try (TokenStream stream = analyzer.tokenStream("", text)) {
+            CharTermAttribute termAttribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(termAttribute.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to analyze query", e);
+        }
+        return tokens;
+    }
+
+    private Document toLuceneDocument(SearchDocument source) {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, source.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_VALUE_FIELD, source.getId()));
+        for (Map.Entry<String, String> field : source.getFields().entrySet()) {
+            if (field.getValue() != null && fieldBoosts.containsKey(field.getKey())) {
+                document.add(new TextField(field.getKey(), field.getValue(), Field.Store.NO));
+            }
+        }
+        return document;
+    }
+
+    private Term idTerm(Long id) {
+        return new Term(ID_FIELD, id.toString());
+    }
+
+    /**
+     * 收集全部命中文档的主键，不计算得分
+     */
+    private static final class IdCollector extends SimpleCollector {
+
+        private final Set<Long> ids = new HashSet<>();
+        private NumericDocValues values;
+
+        @Override
+        protected void doSetNextReader(LeafReaderContext context) throws IOException {
+            values = context.reader().getNumericDocValues(ID_VALUE_FIELD);
+        }
+
+        @Override
+        public void collect(int doc) throws IOException {
+            if (values != null && values.advanceExact(doc)) {
+                ids.add(values.longValue());
+            }
+        }
+
+        @Override
+        public ScoreMode scoreMode() {
+            return ScoreMode.COMPLETE_NO_SCORES;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.segi.campusassistance.search;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * search.engine=database 时使用：不维护索引，服务层始终走数据库查询
+ */
+public class NoopSearchIndex implements SearchIndex {
+
+    @Override
+    public boolean isAvailable() {
+        return false;
+    }
+
+    @Override
+    public void rebuild(Iterable<SearchDocument> documents) {
+    }
+
+    @Override
+    public void upsert(SearchDocument document) {
+    }
+
+    @Override
+    public void delete(Long id) {
+    }
+
+    @Override
+    public List<Long> search(String query, int maxHits) {
+        return List.of();
+    }
+
+    @Override
+    public Set<Long> matchingIds(String query) {
+        return Set.of();
+    }
+}
@@ -0,0 +1,25 @@
+package com.segi.campusassistance.search;
+
+import java.util.Map;
+
+/**
+ * 待索引的文档：实体主键 + 可搜索的文本字段
+ */
+public class SearchDocument {
+
+    private final Long id;
+    private final Map<String, String> fields;
+
+    public SearchDocument(Long id, Map<String, String> fields) {
+        this.id = id;
+        this.fields = fields;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Map<String, String> getFields() {
+        return fields;
+    }
+}
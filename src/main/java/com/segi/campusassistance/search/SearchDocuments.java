@@ -0,0 +1,44 @@
+package com.segi.campusassistance.search;
+
+import com.segi.campusassistance.entity.Item;
+import com.segi.campusassistance.entity.MarketplaceItem;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 实体到搜索文档的映射，字段与原来的 LIKE 搜索范围保持一致
+ */
+public final class SearchDocuments {
+
+    public static final Map<String, Float> ITEM_FIELDS = Map.of(
+            "name", 3.0f,
+            "description", 1.0f,
+            "location", 1.5f,
+            "contactInfo", 1.0f
+    );
+
+    public static final Map<String, Float> MARKETPLACE_FIELDS = Map.of(
+            "itemName", 3.0f,
+            "description", 1.0f
+    );
+
+    private SearchDocuments() {
+    }
+
+    public static SearchDocument of(Item item) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("name", item.getName());
+        fields.put("description", item.getDescription());
+        fields.put("location", item.getLocation());
+        fields.put("contactInfo", item.getContactInfo());
+        return new SearchDocument(item.getId(), fields);
+    }
+
+    public static SearchDocument of(MarketplaceItem item) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("itemName", item.getItemName());
+        fields.put("description", item.getDescription());
+        return new SearchDocument(item.getItemId(), fields);
+    }
+}
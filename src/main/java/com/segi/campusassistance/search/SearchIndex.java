@@ -0,0 +1,35 @@
+package com.segi.campusassistance.search;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 可插拔的全文搜索引擎
+ * 服务层在 isAvailable() 为 true 时通过索引解析关键词，否则回退到数据库 LIKE 查询
+ */
+public interface SearchIndex {
+
+    /**
+     * 索引是否已构建完成、可以响应查询
+     */
+    boolean isAvailable();
+
+    /**
+     * 用数据库中的全量数据重建索引
+     */
+    void rebuild(Iterable<SearchDocument> documents);
+
+    void upsert(SearchDocument document);
+
+    void delete(Long id);
+
+    /**
+     * 按相关度从高到低返回匹配的实体主键（最多 maxHits 个），用于相关度排序
+     */
+    List<Long> search(String query, int maxHits);
+
+    /**
+     * 返回全部匹配的实体主键（不排序、不截断），用于按主键过滤
+     */
+    Set<Long> matchingIds(String query);
+}
@@ -0,0 +1,97 @@
+package com.segi.campusassistance.search;
+
+import com.segi.campusassistance.entity.Item;
+import com.segi.campusassistance.entity.MarketplaceItem;
+import com.segi.campusassistance.repository.ItemRepository;
+import com.segi.campusassistance.repository.MarketplaceItemRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 应用启动后从 lost_found_items 和 marketplace_items 构建搜索索引
+ * 构建完成之前，服务层自动回退到数据库查询
+ */
+@Component
+public class SearchIndexInitializer {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final MarketplaceItemRepository marketplaceItemRepository;
+    private final SearchIndex itemSearchIndex;
+    private final SearchIndex marketplaceSearchIndex;
+
+    public SearchIndexInitializer(ItemRepository itemRepository,
+                                  MarketplaceItemRepository marketplaceItemRepository,
+                                  @Qualifier("itemSearchIndex") SearchIndex itemSearchIndex,
+                                  @Qualifier("marketplaceSearchIndex") SearchIndex marketplaceSearchIndex) {
+        this.itemRepository = itemRepository;
+        this.marketplaceItemRepository = marketplaceItemRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.marketplaceSearchIndex = marketplaceSearchIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        itemSearchIndex.rebuild(batched(
+                lastId -> itemRepository.findBy(idAfter("id", lastId),
+                        query -> query.sortBy(Sort.by("id")).limit(BATCH_SIZE).all()),
+                Item::getId,
+                SearchDocuments::of));
+
+        // 只索引上架中的商品（软删除的商品不参与搜索）
+        marketplaceSearchIndex.rebuild(batched(
+                lastId -> marketplaceItemRepository.findBy(
+                        Specification.<MarketplaceItem>where((root, query, cb) -> cb.equal(root.get("isActive"), true))
+                                .and(idAfter("itemId", lastId)),
+                        query -> query.sortBy(Sort.by("itemId")).limit(BATCH_SIZE).all()),
+                MarketplaceItem::getItemId,
+                SearchDocuments::of));
+    }
+
+    private static <T> Specification<T> idAfter(String idField, Long lastId) {
+        return (root, query, cb) -> cb.greaterThan(root.get(idField), lastId);
+    }
+
+    /**
+     * 按主键分批读取数据库，避免一次性把整张表加载进内存
+     */
+    private static <E> Iterable<SearchDocument> batched(Function<Long, List<E>> nextBatch,
+                                                        Function<E, Long> idOf,
+                                                        Function<E, SearchDocument> mapper) {
+        return () -> new Iterator<>() {
+            private List<E> batch = nextBatch.apply(0L);
+            private int position = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (position < batch.size()) {
+                    return true;
+                }
+                if (batch.size() < BATCH_SIZE) {
+                    return false;
+                }
+                batch = nextBatch.apply(idOf.apply(batch.get(batch.size() - 1)));
+                position = 0;
+                return !batch.isEmpty();
+            }
+
+            @Override
+            public SearchDocument next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return mapper.apply(batch.get(position++));
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.segi.campusassistance.security;
+
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * Google ID Token 签名公钥的来源
+ * 生产环境从 Google 证书端点获取并缓存；测试中可替换为固定公钥，无需访问网络
+ */
+public interface GooglePublicKeySource {
+
+    /**
+     * 返回当前缓存的公钥，正常情况下不产生网络请求
+     */
+    List<PublicKey> getPublicKeys();
+
+    /**
+     * 签名无法用缓存的公钥验证时调用（Google 可能已轮换密钥）
+     * 实现应自行限制刷新频率；返回 true 表示公钥已更新，值得重试一次
+     */
+    boolean refresh();
+}
@@ -0,0 +1,74 @@
+package com.segi.campusassistance.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.JsonFactory;
+import com.google.api.client.json.gson.GsonFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * 单例的 Google ID Token 校验器（线程安全）
+ * 校验签发方、受众和有效期，并用 GooglePublicKeySource 缓存的公钥验签
+ */
+@Component
+public class GoogleTokenVerifier {
+
+    private static final List<String> ISSUERS = List.of("accounts.google.com", "https://accounts.google.com");
+    private static final long ACCEPTABLE_TIME_SKEW_SECONDS = 300;
+
+    private final JsonFactory jsonFactory = GsonFactory.getDefaultInstance();
+    private final GooglePublicKeySource keySource;
+    private final List<String> audience;
+
+    public GoogleTokenVerifier(GooglePublicKeySource keySource, @Value("${google.client.id}") String googleClientId) {
+        this.keySource = keySource;
+        this.audience = List.of(googleClientId);
+    }
+
+    /**
+     * 返回校验通过的 ID Token；令牌格式错误、签名无效或声明不匹配时返回 null
+     */
+    public GoogleIdToken verify(String idTokenString) {
+        GoogleIdToken idToken;
+        try {
+            idToken = GoogleIdToken.parse(jsonFactory, idTokenString);
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+
+        GoogleIdToken.Payload payload = idToken.getPayload();
+        if (!idToken.verifyIssuer(ISSUERS)
+                || !idToken.verifyAudience(audience)
+                || !idToken.verifyTime(System.currentTimeMillis(), ACCEPTABLE_TIME_SKEW_SECONDS)
+                || payload.getSubject() == null) {
+            return null;
+        }
+
+        if (verifySignature(idToken, keySource.getPublicKeys())) {
+            return idToken;
+        }
+        // 可能是 Google 刚轮换了密钥：刷新一次公钥后重试
+        if (keySource.refresh() && verifySignature(idToken, keySource.getPublicKeys())) {
+            return idToken;
+        }
+        return null;
+    }
+
+    private boolean verifySignature(GoogleIdToken idToken, List<PublicKey> publicKeys) {
+        for (PublicKey publicKey : publicKeys) {
+            try {
+                if (idToken.verifySignature(publicKey)) {
+                    return true;
+                }
+            } catch (GeneralSecurityException e) {
+                // 与该公钥算法不匹配，继续尝试下一个
+            }
+        }
+        return false;
+    }
+}
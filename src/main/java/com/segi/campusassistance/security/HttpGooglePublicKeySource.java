@@ -0,0 +1,94 @@
+package com.segi.campusassistance.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 从 Google 证书端点获取公钥，按响应的 Cache-Control max-age 缓存
+ * 启动时预热，之后由后台任务在缓存过期前刷新，登录请求本身不会触发网络请求
+ */
+@Component
+public class HttpGooglePublicKeySource implements GooglePublicKeySource {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpGooglePublicKeySource.class);
+
+    // 距离过期不足该时间时后台提前刷新
+    private static final long REFRESH_AHEAD_MS = 30 * 60 * 1000L;
+    // 签名验证失败触发的强制刷新最多每分钟一次，防止伪造令牌刷爆证书端点
+    private static final long MIN_FORCED_REFRESH_INTERVAL_MS = 60 * 1000L;
+
+    private final GooglePublicKeysManager keysManager =
+            new GooglePublicKeysManager(new NetHttpTransport(), GsonFactory.getDefaultInstance());
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile long lastRefreshAt;
+
+    @Override
+    public List<PublicKey> getPublicKeys() {
+        try {
+            // 缓存有效时直接返回；仅在缓存缺失或即将过期时同步拉取（内部加锁，只有一个线程发请求）
+            return keysManager.getPublicKeys();
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to load Google public keys", e);
+        }
+    }
+
+    @Override
+    public boolean refresh() {
+        long requestedAt = System.currentTimeMillis();
+        if (requestedAt - lastRefreshAt < MIN_FORCED_REFRESH_INTERVAL_MS) {
+            return false;
+        }
+        refreshLock.lock();
+        try {
+            // 同一批未知 kid 的令牌会在锁上排队：等锁期间已有线程刷新过时不再重复请求，公钥已是最新，可直接重试
+            if (lastRefreshAt >= requestedAt) {
+                return true;
+            }
+            return doRefresh();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        doRefresh();
+    }
+
+    @Scheduled(fixedDelayString = "${google.keys.refresh-check-ms:600000}", initialDelayString = "${google.keys.refresh-check-ms:600000}")
+    public void refreshAhead() {
+        if (keysManager.getExpirationTimeMilliseconds() - System.currentTimeMillis() < REFRESH_AHEAD_MS) {
+            doRefresh();
+        }
+    }
+
+    private boolean doRefresh() {
+        // 刷新会发起网络请求，使用 ReentrantLock 而不是 synchronized，虚拟线程等待时不会占住载体线程
+        refreshLock.lock();
+        try {
+            keysManager.refresh();
+            lastRefreshAt = System.currentTimeMillis();
+            return true;
+        } catch (GeneralSecurityException | IOException e) {
+            log.warn("Failed to refresh Google public keys: {}", e.getMessage());
+            return false;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+}
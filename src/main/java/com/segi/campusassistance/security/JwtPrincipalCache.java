@@ -0,0 +1,106 @@
+package com.segi.campusassistance.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.segi.campusassistance.util.JwtUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 已验签 JWT 的有界并发缓存（Caffeine，读取不加全局锁）
+ * 同一个 Bearer 令牌的后续请求直接命中缓存，跳过 HMAC 验签和 JSON 解析；
+ * 以令牌的 SHA-256 作为键（内存中不保留原始令牌），每个条目在令牌的 exp 时刻过期，验证失败的令牌不缓存
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public JwtPrincipalCache(JwtUtil jwtUtil, @Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.jwtUtil = jwtUtil;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * 返回令牌对应的用户主体；令牌无效或已过期时返回 null
+     */
+    public UserPrincipal resolve(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        Instant now = Instant.now();
+        String key = hash(token);
+
+        VerifiedToken cached = entries.getIfPresent(key);
+        if (cached != null && !cached.isExpired(now)) {
+            hits.increment();
+            return cached.getPrincipal();
+        }
+        misses.increment();
+
+        VerifiedToken verified = jwtUtil.verify(token);
+        if (verified == null || verified.isExpired(now)) {
+            return null;
+        }
+        entries.put(key, verified);
+        return verified.getPrincipal();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // 条目存活到令牌的 exp，读取不延长
+    private static final class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.getExpiresAt() == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.segi.campusassistance.security;
+
+import java.security.PublicKey;
+import java.util.List;
+
+/**
+ * 固定公钥来源，用于离线测试（用自己的密钥对签发测试用的 ID Token）
+ */
+public class StaticGooglePublicKeySource implements GooglePublicKeySource {
+
+    private final List<PublicKey> publicKeys;
+
+    public StaticGooglePublicKeySource(List<PublicKey> publicKeys) {
+        this.publicKeys = List.copyOf(publicKeys);
+    }
+
+    @Override
+    public List<PublicKey> getPublicKeys() {
+        return publicKeys;
+    }
+
+    @Override
+    public boolean refresh() {
+        return false;
+    }
+}
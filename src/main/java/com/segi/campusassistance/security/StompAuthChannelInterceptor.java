@@ -0,0 +1,109 @@
+package com.segi.campusassistance.security;
+
+import com.segi.campusassistance.entity.Chat;
+import com.segi.campusassistance.repository.ChatRepository;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.Collections;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * STOMP 帧鉴权：
+ * CONNECT 时校验 JWT（与 HTTP 接口使用同一个令牌），
+ * SUBSCRIBE 时只允许订阅自己参与的聊天和自己的会话列表主题，
+ * 客户端不允许直接 SEND（发送消息仍走 REST 接口）
+ */
+@Component
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final Pattern CHAT_TOPIC = Pattern.compile("^/topic/chats/(\\d+)$");
+    private static final Pattern USER_CHATS_TOPIC = Pattern.compile("^/topic/users/(\\d+)/chats$");
+
+    private final JwtPrincipalCache jwtPrincipalCache;
+    private final ChatRepository chatRepository;
+
+    public StompAuthChannelInterceptor(JwtPrincipalCache jwtPrincipalCache, ChatRepository chatRepository) {
+        this.jwtPrincipalCache = jwtPrincipalCache;
+        this.chatRepository = chatRepository;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        StompCommand command = accessor.getCommand();
+        if (StompCommand.CONNECT.equals(command)) {
+            accessor.setUser(authenticate(accessor));
+        } else if (StompCommand.SUBSCRIBE.equals(command)) {
+            authorizeSubscription(currentUser(accessor), accessor.getDestination());
+        } else if (StompCommand.SEND.equals(command)) {
+            throw new AccessDeniedException("Sending over WebSocket is not supported, use the REST API");
+        }
+        return message;
+    }
+
+    private UsernamePasswordAuthenticationToken authenticate(StompHeaderAccessor accessor) {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            throw new AccessDeniedException("Missing bearer token");
+        }
+
+        UserPrincipal principal = jwtPrincipalCache.resolve(authHeader.substring(7));
+        if (principal == null) {
+            throw new AccessDeniedException("Invalid token");
+        }
+        return new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.getRole()))
+        );
+    }
+
+    private UserPrincipal currentUser(StompHeaderAccessor accessor) {
+        Principal user = accessor.getUser();
+        if (user instanceof UsernamePasswordAuthenticationToken token
+                && token.getPrincipal() instanceof UserPrincipal principal) {
+            return principal;
+        }
+        throw new AccessDeniedException("Not authenticated");
+    }
+
+    private void authorizeSubscription(UserPrincipal principal, String destination) {
+        if (destination == null) {
+            throw new AccessDeniedException("Missing destination");
+        }
+
+        Matcher chatMatcher = CHAT_TOPIC.matcher(destination);
+        if (chatMatcher.matches()) {
+            Long chatId = Long.valueOf(chatMatcher.group(1));
+            Chat chat = chatRepository.findById(chatId)
+                    .orElseThrow(() -> new AccessDeniedException("Chat not found"));
+            Long userId = principal.getUserId();
+            if (!chat.getOwnerId().equals(userId) && !chat.getRequesterId().equals(userId)) {
+                throw new AccessDeniedException("Not authorized to access this chat");
+            }
+            return;
+        }
+
+        Matcher userMatcher = USER_CHATS_TOPIC.matcher(destination);
+        if (userMatcher.matches() && Long.valueOf(userMatcher.group(1)).equals(principal.getUserId())) {
+            return;
+        }
+
+        throw new AccessDeniedException("Not authorized to subscribe to " + destination);
+    }
+}
@@ -0,0 +1,29 @@
+package com.segi.campusassistance.security;
+
+import java.time.Instant;
+
+/**
+ * 一次解析、验签后的 JWT：不可变的用户主体 + 过期时间
+ */
+public final class VerifiedToken {
+
+    private final UserPrincipal principal;
+    private final Instant expiresAt;
+
+    public VerifiedToken(UserPrincipal principal, Instant expiresAt) {
+        this.principal = principal;
+        this.expiresAt = expiresAt;
+    }
+
+    public UserPrincipal getPrincipal() {
+        return principal;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,353 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.dto.AccountDeletionResponse;
+import com.segi.campusassistance.entity.AccountDeletionJob;
+import com.segi.campusassistance.entity.Item;
+import com.segi.campusassistance.entity.Items;
+import com.segi.campusassistance.entity.MarketplaceItem;
+import com.segi.campusassistance.repository.AccountDeletionJobRepository;
+import com.segi.campusassistance.repository.ChatMessageRepository;
+import com.segi.campusassistance.repository.ChatRepository;
+import com.segi.campusassistance.repository.ItemRepository;
+import com.segi.campusassistance.repository.ItemsRepository;
+import com.segi.campusassistance.repository.MarketplaceItemRepository;
+import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.search.SearchIndex;
+import com.segi.campusassistance.storage.ContentStoreJanitor;
+import com.segi.campusassistance.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * 账号删除：请求只登记任务并立即返回，后台线程按阶段分块删除用户数据
+ * 每个分块（最多 chunk-size 行）单独提交，并在同一事务中记录进度，
+ * 不会长时间锁住 chat_messages；任务中断后从记录的阶段继续，重复执行是安全的
+ */
+@Service
+public class AccountDeletionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountDeletionService.class);
+
+    private final AccountDeletionJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final ChatRepository chatRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final ItemRepository itemRepository;
+    private final ItemsRepository itemsRepository;
+    private final MarketplaceItemRepository marketplaceItemRepository;
+    private final ContentStoreJanitor contentStoreJanitor;
+    private final DetailCache detailCache;
+    private final FeedVersions feedVersions;
+    private final SearchIndex itemSearchIndex;
+    private final SearchIndex marketplaceSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final int maxAttempts;
+
+    // 单线程执行，多个用户的删除任务排队，避免同时对同几张表做批量删除
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "account-deletion");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 已提交到线程池、尚未结束的任务，防止定时恢复重复提交
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public AccountDeletionService(AccountDeletionJobRepository jobRepository,
+                                  UserRepository userRepository,
+                                  ChatRepository chatRepository,
+                                  ChatMessageRepository chatMessageRepository,
+                                  ItemRepository itemRepository,
+                                  ItemsRepository itemsRepository,
+                                  MarketplaceItemRepository marketplaceItemRepository,
+                                  ContentStoreJanitor contentStoreJanitor,
+                                  DetailCache detailCache,
+                                  FeedVersions feedVersions,
+                                  SearchIndex itemSearchIndex,
+                                  SearchIndex marketplaceSearchIndex,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${account.deletion.chunk-size:500}") int chunkSize,
+                                  @Value("${account.deletion.chunk-pause-ms:50}") long chunkPauseMs,
+                                  @Value("${account.deletion.max-attempts:5}") int maxAttempts) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.chatRepository = chatRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.itemRepository = itemRepository;
+        this.itemsRepository = itemsRepository;
+        this.marketplaceItemRepository = marketplaceItemRepository;
+        this.contentStoreJanitor = contentStoreJanitor;
+        this.detailCache = detailCache;
+        this.feedVersions = feedVersions;
+        this.itemSearchIndex = itemSearchIndex;
+        this.marketplaceSearchIndex = marketplaceSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMs = chunkPauseMs;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 登记删除任务；同一用户重复请求返回已有任务，失败的任务重新排队
+     */
+    @Transactional
+    public AccountDeletionResponse requestDeletion(Long userId) {
+        AccountDeletionJob job = jobRepository.findByUserId(userId).orElse(null);
+        if (job == null) {
+            if (!userRepository.existsById(userId)) {
+                throw new EntityNotFoundException("User not found");
+            }
+            job = jobRepository.save(new AccountDeletionJob(userId));
+        } else if (job.getStatus() == AccountDeletionJob.Status.FAILED) {
+            job.setStatus(AccountDeletionJob.Status.PENDING);
+            job.setAttempts(0);
+            job.setLastError(null);
+        }
+
+        if (!job.isFinished()) {
+            Long jobId = job.getId();
+            AfterCommit.run(() -> submit(jobId));
+        }
+        return AccountDeletionResponse.fromEntity(job);
+    }
+
+    @Transactional(readOnly = true)
+    public AccountDeletionResponse getStatus(Long userId) {
+        return jobRepository.findByUserId(userId)
+                .map(AccountDeletionResponse::fromEntity)
+                .orElseThrow(() -> new EntityNotFoundException("No account deletion requested"));
+    }
+
+    /**
+     * 启动后以及之后定期把未完成的任务重新放回队列（进程重启、失败重试）
+     */
+    @Scheduled(initialDelayString = "${account.deletion.resume-initial-delay-ms:10000}",
+            fixedDelayString = "${account.deletion.poll-interval-ms:60000}")
+    public void resumeUnfinished() {
+        jobRepository.findByStatusIn(List.of(AccountDeletionJob.Status.PENDING, AccountDeletionJob.Status.RUNNING))
+                .forEach(job -> submit(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 正在执行的分块会回滚，任务保持 RUNNING，下次启动后继续
+        executor.shutdownNow();
+    }
+
+    private void submit(Long jobId) {
+        if (!activeJobs.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    activeJobs.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private void run(Long jobId) {
+        while (!Thread.currentThread().isInterrupted()) {
+            boolean more;
+            try {
+                more = Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(jobId)));
+            } catch (RuntimeException e) {
+                recordFailure(jobId, e);
+                return;
+            }
+            if (!more) {
+                return;
+            }
+            if (chunkPauseMs > 0) {
+                // 分块之间让出锁和连接，删除大户数据时不影响在线请求
+                try {
+                    Thread.sleep(chunkPauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 执行当前阶段的一个分块，返回是否还有后续工作
+     */
+    private boolean processChunk(Long jobId) {
+        AccountDeletionJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return false;
+        }
+        job.setStatus(AccountDeletionJob.Status.RUNNING);
+        Long userId = job.getUserId();
+        Pageable chunk = PageRequest.of(0, chunkSize);
+
+        int rows;
+        switch (job.getPhase()) {
+            case CHAT_MESSAGES -> rows = deleteChatMessages(userId, chunk);
+            case CHATS -> rows = deleteChats(userId, chunk);
+            case ITEMS -> rows = deleteItems(userId, chunk);
+            case LEGACY_ITEMS -> rows = deleteLegacyItems(userId, chunk);
+            case MARKETPLACE_ITEMS -> rows = deleteMarketplaceItems(userId, chunk);
+            case USER -> {
+                // 删除过程中用户可能又发布了内容，确认都已清空后才删除用户本身
+                if (hasRemainingData(userId)) {
+                    job.setPhase(AccountDeletionJob.Phase.CHAT_MESSAGES);
+                    jobRepository.save(job);
+                    return true;
+                }
+                job.addDeletedRows(deleteUser(userId));
+                job.setPhase(AccountDeletionJob.Phase.DONE);
+                job.setStatus(AccountDeletionJob.Status.COMPLETED);
+                job.setCompletedAt(LocalDateTime.now());
+                jobRepository.save(job);
+                log.info("Account deletion job {} for user {} completed, {} rows deleted",
+                        jobId, userId, job.getDeletedRows());
+                return false;
+            }
+            default -> {
+                return false;
+            }
+        }
+
+        job.addDeletedRows(rows);
+        if (rows < chunkSize) {
+            // 不足一个分块，说明该阶段已清空
+            job.setPhase(job.getPhase().next());
+        }
+        // 批量删除语句会清空持久化上下文，显式保存进度
+        jobRepository.save(job);
+        return true;
+    }
+
+    private int deleteChatMessages(Long userId, Pageable chunk) {
+        List<Long> messageIds = chatMessageRepository.findIdsByParticipant(userId, chunk);
+        if (!messageIds.isEmpty()) {
+            chatMessageRepository.deleteAllByIdInBatch(messageIds);
+        }
+        return messageIds.size();
+    }
+
+    private int deleteChats(Long userId, Pageable chunk) {
+        List<Long> chatIds = chatRepository.findIdsByUserId(userId, chunk);
+        if (!chatIds.isEmpty()) {
+            // 上一阶段之后新发的消息（通常没有）
+            chatMessageRepository.deleteByChatIdIn(chatIds);
+            chatRepository.deleteAllByIdInBatch(chatIds);
+        }
+        return chatIds.size();
+    }
+
+    private int deleteItems(Long userId, Pageable chunk) {
+        List<Item> items = itemRepository.findByUserIdOrderByIdAsc(userId, chunk);
+        if (items.isEmpty()) {
+            return 0;
+        }
+        itemRepository.deleteAllInBatch(items);
+
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        itemIds.forEach(detailCache::evictItem);
+        AfterCommit.run(() -> itemIds.forEach(itemSearchIndex::delete));
+        contentStoreJanitor.releaseAll(items.stream()
+                .map(Item::getImageUrl)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        feedVersions.bump(FeedVersions.Feed.ITEMS);
+        return items.size();
+    }
+
+    private int deleteLegacyItems(Long userId, Pageable chunk) {
+        List<Items> items = itemsRepository.findByUserIdOrderByIdAsc(userId, chunk);
+        if (items.isEmpty()) {
+            return 0;
+        }
+        itemsRepository.deleteAllInBatch(items);
+
+        items.forEach(row -> detailCache.evictItems(row.getId()));
+        contentStoreJanitor.releaseAll(items.stream()
+                .map(Items::getImage)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        return items.size();
+    }
+
+    private int deleteMarketplaceItems(Long userId, Pageable chunk) {
+        List<MarketplaceItem> items = marketplaceItemRepository.findBySellerIdOrderByItemIdAsc(userId, chunk);
+        if (items.isEmpty()) {
+            return 0;
+        }
+        marketplaceItemRepository.deleteAllInBatch(items);
+
+        List<Long> itemIds = items.stream().map(MarketplaceItem::getItemId).collect(Collectors.toList());
+        detailCache.evictMarketplaceItems(itemIds);
+        AfterCommit.run(() -> itemIds.forEach(marketplaceSearchIndex::delete));
+        contentStoreJanitor.releaseAll(items.stream()
+                .map(MarketplaceItem::getImageUrl)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        feedVersions.bump(FeedVersions.Feed.MARKETPLACE);
+        return items.size();
+    }
+
+    private boolean hasRemainingData(Long userId) {
+        return chatRepository.existsByOwnerIdOrRequesterId(userId, userId)
+                || itemRepository.existsByUserId(userId)
+                || itemsRepository.existsByUserId(userId)
+                || marketplaceItemRepository.existsBySellerId(userId);
+    }
+
+    private int deleteUser(Long userId) {
+        return userRepository.findById(userId)
+                .map(user -> {
+                    if (user.getPicture() != null) {
+                        contentStoreJanitor.release(user.getPicture());
+                    }
+                    userRepository.delete(user);
+                    return 1;
+                })
+                .orElse(0);
+    }
+
+    private void recordFailure(Long jobId, RuntimeException error) {
+        log.warn("Account deletion job {} failed", jobId, error);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.findById(jobId).ifPresent(job -> {
+                job.setAttempts(job.getAttempts() + 1);
+                String message = String.valueOf(error.getMessage());
+                job.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+                // 达到重试上限前保持 PENDING，由定时恢复重新执行
+                job.setStatus(job.getAttempts() >= maxAttempts
+                        ? AccountDeletionJob.Status.FAILED
+                        : AccountDeletionJob.Status.PENDING);
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Failed to record failure of account deletion job {}", jobId, e);
+        }
+    }
+}
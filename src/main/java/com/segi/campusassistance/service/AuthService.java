@@ -1,22 +1,16 @@
 package com.segi.campusassistance.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.segi.campusassistance.dto.AuthResponse;
 import com.segi.campusassistance.entity.User;
 import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.security.GoogleTokenVerifier;
 import com.segi.campusassistance.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
-import java.io.IOException;
-import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
-import java.util.Collections;
 
 @Service
 @RequiredArgsConstructor
@@ -26,16 +20,14 @@ public class AuthService {
 
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-
-    @Value("${google.client.id}")
-    private String googleClientId;
+    private final GoogleTokenVerifier googleTokenVerifier;
 
     public AuthResponse authenticateWithGoogle(String idTokenString) {
         if (!StringUtils.hasText(idTokenString)) {
             throw new IllegalArgumentException("idToken is required");
         }
 
-        GoogleIdToken idToken = verifyIdToken(idTokenString);
+        GoogleIdToken idToken = googleTokenVerifier.verify(idTokenString);
         if (idToken == null) {
             throw new IllegalArgumentException("Invalid Google ID token");
         }
@@ -85,18 +77,4 @@ public class AuthService {
 
         return response;
     }
-
-    private GoogleIdToken verifyIdToken(String idTokenString) {
-        GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                new NetHttpTransport(),
-                new GsonFactory())
-                .setAudience(Collections.singletonList(googleClientId))
-                .build();
-        try {
-            return verifier.verify(idTokenString);
-        } catch (GeneralSecurityException | IOException e) {
-            throw new IllegalStateException("Failed to verify Google ID token", e);
-        }
-    }
 }
-
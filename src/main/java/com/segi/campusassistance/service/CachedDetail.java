@@ -0,0 +1,30 @@
+package com.segi.campusassistance.service;
+
+/**
+ * 详情缓存中的条目：实体快照 + 作者信息，与当前用户无关（canEdit 等权限字段在读取时再计算）
+ * 缓存中的实体是共享的，只能读取，不能修改
+ */
+public final class CachedDetail<T> {
+
+    private final T entity;
+    private final String authorName;
+    private final String authorEmail;
+
+    public CachedDetail(T entity, String authorName, String authorEmail) {
+        this.entity = entity;
+        this.authorName = authorName;
+        this.authorEmail = authorEmail;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+}
@@ -0,0 +1,15 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.dto.ChatEvent;
+
+/**
+ * 聊天事件的推送通道
+ * 当前实现为进程内的 STOMP simple broker；多实例部署时可替换为外部消息代理（relay）实现
+ */
+public interface ChatEventPublisher {
+
+    /**
+     * 推送到聊天主题 /topic/chats/{chatId}，同时推送到每个参与者的会话列表主题 /topic/users/{userId}/chats
+     */
+    void publish(ChatEvent event, Long... participantIds);
+}
@@ -1,6 +1,7 @@
 package com.segi.campusassistance.service;
 
 import com.segi.campusassistance.dto.ChatResponse;
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.MessageRequest;
 import com.segi.campusassistance.dto.MessageResponse;
 import org.springframework.data.domain.Page;
@@ -16,10 +17,18 @@ public interface ChatService {
 
     List<ChatResponse> getUserChats(Long userId);
 
+    long getUnreadTotal(Long userId);
+
     Page<MessageResponse> getChatMessages(Long chatId, Long currentUserId, Pageable pageable);
 
     List<MessageResponse> getChatMessages(Long chatId, Long currentUserId);
 
+    /**
+     * 键集分页读取消息：before/after 为消息ID游标（二选一，都为空时返回最新一页），
+     * 返回的消息按时间正序排列，nextCursor 为继续同方向翻页时要传入的消息ID
+     */
+    CursorPage<MessageResponse> getChatMessages(Long chatId, Long currentUserId, Long before, Long after, Integer limit);
+
     MessageResponse getLastMessage(Long chatId, Long currentUserId);
 
     MessageResponse sendMessage(Long chatId, MessageRequest request, Long currentUserId);
@@ -0,0 +1,57 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.repository.ChatRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 聊天未读计数的修复任务
+ * chats 表上的 owner/requester 未读数由发送和已读操作增量维护，
+ * 定期按 chat_messages 重新统计一次，纠正异常中断或手工改库造成的偏差；
+ * 启动后的第一次执行同时为新增列之前的历史聊天补齐计数
+ * 按主键范围分块执行，每块一个短事务，只短暂锁住该范围内的聊天，不阻塞其他聊天的收发消息
+ */
+@Service
+public class ChatUnreadReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatUnreadReconciler.class);
+
+    private final ChatRepository chatRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ChatUnreadReconciler(ChatRepository chatRepository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${chat.unread.reconcile-chunk-size:500}") int chunkSize) {
+        this.chatRepository = chatRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${chat.unread.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${chat.unread.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            Long maxId = chatRepository.findMaxId();
+            if (maxId == null) {
+                return;
+            }
+            int repaired = 0;
+            for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+                long from = fromId;
+                long to = fromId + chunkSize - 1;
+                Integer count = transactionTemplate.execute(status -> chatRepository.reconcileUnreadCounts(from, to));
+                repaired += count != null ? count : 0;
+            }
+            if (repaired > 0) {
+                log.info("Repaired unread counters on {} chats", repaired);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile chat unread counters", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.entity.Item;
+import com.segi.campusassistance.entity.Items;
+import com.segi.campusassistance.entity.MarketplaceItem;
+import com.segi.campusassistance.entity.User;
+import com.segi.campusassistance.repository.ItemRepository;
+import com.segi.campusassistance.repository.ItemsRepository;
+import com.segi.campusassistance.repository.MarketplaceItemRepository;
+import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.util.AfterCommit;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+
+/**
+ * 物品 / 失物 / 市场商品详情的进程内读穿透缓存（Caffeine，容量和过期时间见 spring.cache.caffeine.spec）
+ * 对应的更新、删除方法在事务提交后按主键失效；作者改名或注销账号时整体清空
+ */
+@Component
+public class DetailCache {
+
+    public static final String ITEM_DETAILS = "itemDetails";
+    public static final String ITEMS_DETAILS = "itemsDetails";
+    public static final String MARKETPLACE_DETAILS = "marketplaceDetails";
+
+    private final ItemRepository itemRepository;
+    private final ItemsRepository itemsRepository;
+    private final MarketplaceItemRepository marketplaceItemRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public DetailCache(ItemRepository itemRepository, ItemsRepository itemsRepository,
+                       MarketplaceItemRepository marketplaceItemRepository, UserRepository userRepository,
+                       CacheManager cacheManager) {
+        this.itemRepository = itemRepository;
+        this.itemsRepository = itemsRepository;
+        this.marketplaceItemRepository = marketplaceItemRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    // sync = true：同一个热门商品同时未命中时只查询一次数据库
+    @Cacheable(cacheNames = ITEM_DETAILS, sync = true)
+    public CachedDetail<Item> item(Long id) {
+        Item item = itemRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found"));
+        return withAuthor(item, item.getUserId());
+    }
+
+    @Cacheable(cacheNames = ITEMS_DETAILS, sync = true)
+    public CachedDetail<Items> items(Long id) {
+        Items items = itemsRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + id));
+        return withAuthor(items, items.getUserId());
+    }
+
+    @Cacheable(cacheNames = MARKETPLACE_DETAILS, sync = true)
+    public CachedDetail<MarketplaceItem> marketplaceItem(Long id) {
+        MarketplaceItem item = marketplaceItemRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Item not found"));
+        return withAuthor(item, item.getSellerId());
+    }
+
+    public void evictItem(Long id) {
+        evict(ITEM_DETAILS, id);
+    }
+
+    public void evictItems(Long id) {
+        evict(ITEMS_DETAILS, id);
+    }
+
+    public void evictMarketplaceItem(Long id) {
+        evict(MARKETPLACE_DETAILS, id);
+    }
+
+    /**
+     * 浏览量写回后调用：缓存中的 views 已落后于数据库
+     */
+    public void evictMarketplaceItems(Collection<Long> ids) {
+        Cache cache = cacheManager.getCache(MARKETPLACE_DETAILS);
+        if (cache != null) {
+            ids.forEach(cache::evict);
+        }
+    }
+
+    /**
+     * 作者信息变化（改名、注销）影响的条目无法按主键定位，直接清空
+     */
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            for (String name : new String[]{ITEM_DETAILS, ITEMS_DETAILS, MARKETPLACE_DETAILS}) {
+                Cache cache = cacheManager.getCache(name);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+        });
+    }
+
+    /**
+     * 立即失效一次，事务提交后再失效一次：防止提交前被并发读取重新加载旧数据
+     */
+    private void evict(String cacheName, Long id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || id == null) {
+            return;
+        }
+        cache.evict(id);
+        AfterCommit.run(() -> cache.evict(id));
+    }
+
+    private <T> CachedDetail<T> withAuthor(T entity, Long userId) {
+        User author = userId != null ? userRepository.findById(userId).orElse(null) : null;
+        return new CachedDetail<>(entity,
+                author != null ? author.getName() : null,
+                author != null ? author.getEmail() : null);
+    }
+}
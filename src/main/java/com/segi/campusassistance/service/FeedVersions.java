@@ -0,0 +1,71 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.util.AfterCommit;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 列表接口的条件 GET 支持
+ * 每个集合维护一个内存版本号，写操作提交后递增；ETag = 集合 + 启动时间戳 + 版本号 + 请求变体（查询参数、当前用户），
+ * 版本号没变时直接返回 304，不执行列表查询
+ * 版本号只存在于本实例内存中，多实例部署时写入另一实例的变更不会反映到这里，届时应改为共享计数器
+ */
+@Component
+public class FeedVersions {
+
+    public enum Feed {
+        ITEMS, MARKETPLACE, NOTIFICATIONS
+    }
+
+    /** 列表响应允许客户端缓存，但每次使用前都必须带 If-None-Match 重新验证（响应包含当前用户的权限字段） */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // 进程重启后版本号从 0 开始，加上启动时间避免与重启前签发的 ETag 冲突
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Feed, AtomicLong> versions = new EnumMap<>(Feed.class);
+
+    public FeedVersions() {
+        for (Feed feed : Feed.values()) {
+            versions.put(feed, new AtomicLong());
+        }
+    }
+
+    /**
+     * 在当前事务提交后递增版本号（没有事务时立即递增）
+     */
+    public void bump(Feed... feeds) {
+        AfterCommit.run(() -> {
+            for (Feed feed : feeds) {
+                versions.get(feed).incrementAndGet();
+            }
+        });
+    }
+
+    public long version(Feed feed) {
+        return versions.get(feed).get();
+    }
+
+    /**
+     * 必须在执行列表查询之前计算：查询期间提交的写入会让下一次请求的 ETag 不匹配，只会多返回一次完整结果
+     */
+    public String etag(Feed feed, String queryString, Long currentUserId, String currentUserRole) {
+        StringBuilder tag = new StringBuilder("\"")
+                .append(feed.name().toLowerCase()).append('-')
+                .append(epoch).append('-')
+                .append(version(feed));
+        if (queryString != null && !queryString.isEmpty()) {
+            tag.append("-q").append(Integer.toHexString(queryString.hashCode()));
+        }
+        if (currentUserId != null) {
+            tag.append("-u").append(currentUserId);
+        }
+        if (currentUserRole != null) {
+            tag.append('-').append(currentUserRole.toLowerCase());
+        }
+        return tag.append('"').toString();
+    }
+}
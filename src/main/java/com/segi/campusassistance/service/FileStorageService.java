@@ -1,22 +1,36 @@
 package com.segi.campusassistance.service;
 
-import jakarta.servlet.http.HttpServletRequest;
+import com.segi.campusassistance.storage.ContentSniffer;
+import com.segi.campusassistance.storage.FileStoredEvent;
+import com.segi.campusassistance.storage.StoredFile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.io.IOException;
-import java.net.InetAddress;
-import java.net.UnknownHostException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class FileStorageService {
@@ -24,160 +38,290 @@ public class FileStorageService {
     @Value("${file.upload.dir:uploads}")
     private String uploadDir;
 
-    @Value("${server.ip:}")
-    private String serverIp;
+    /**
+     * 临时文件目录（位于上传目录内，保证最终 move 是同一文件系统内的原子重命名）；
+     * multipart 的临时文件也放在这里，见 MultipartConfig
+     */
+    public static final String INCOMING_DIR = ".incoming";
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private static final int CONTENT_LOCK_STRIPES = 64;
+
+    public static final String MODE_CONTENT = "content";
+
+    private static final Pattern CONTENT_KEY = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern CONTENT_KEY_IN_URL = Pattern.compile("/uploads/(" + CONTENT_KEY.pattern() + ")(?:[?#].*)?$");
+
+    // content：内容寻址去重存储；uuid：每次上传一个新文件
+    @Value("${file.storage.mode:content}")
+    private String storageMode;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Path uploadPath;
+    private Path incomingPath;
+
+    // 按对象路径分段加锁：上传时的“已存在则复用”与清理任务的“过期则删除”互斥
+    // 锁内有文件 I/O，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+    private final ReentrantLock[] contentLocks = new ReentrantLock[CONTENT_LOCK_STRIPES];
 
-    @Value("${server.port:8081}")
-    private String serverPort;
+    {
+        for (int i = 0; i < contentLocks.length; i++) {
+            contentLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 启动时创建上传目录并清理上次异常退出留下的临时文件，上传时不再逐次检查目录
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+            incomingPath = uploadPath.resolve(INCOMING_DIR);
+            Files.createDirectories(incomingPath);
+            try (DirectoryStream<Path> stale = Files.newDirectoryStream(incomingPath)) {
+                for (Path path : stale) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to initialise upload directory " + uploadDir, e);
+        }
+    }
 
     public String storeFile(MultipartFile file) throws IOException {
+        StoredFile stored = store(file);
+        return stored != null ? stored.getFilename() : null;
+    }
+
+    /**
+     * 保存上传文件
+     * content 模式：按 SHA-256 内容寻址，相同内容只存一份（ab/cd/<sha256>.<ext>）；
+     * uuid 模式：每次上传生成新的 UUID 文件名
+     */
+    public StoredFile store(MultipartFile file) throws IOException {
         if (file == null || file.isEmpty()) {
             return null;
         }
 
         // 获取原始文件名
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        
+        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename() != null ? file.getOriginalFilename() : "");
+
         // 验证文件名
         if (originalFilename.contains("..")) {
             throw new IllegalArgumentException("Filename contains an invalid path sequence: " + originalFilename);
         }
 
-        // 获取文件扩展名
-        String extension = "";
-        int lastDotIndex = originalFilename.lastIndexOf('.');
-        if (lastDotIndex > 0) {
-            extension = originalFilename.substring(lastDotIndex);
+        StoredFile stored;
+        if (MODE_CONTENT.equalsIgnoreCase(storageMode)) {
+            stored = storeContentAddressed(file, originalFilename);
+        } else {
+            Spooled spooled = spool(file);
+            // 生成唯一文件名；扩展名以识别出的类型为准，识别不了时沿用原始扩展名
+            String filename = UUID.randomUUID() + resolveExtension(spooled.contentType, originalFilename);
+            moveIntoPlace(spooled.tempFile, uploadPath.resolve(filename));
+            stored = new StoredFile(filename, spooled.size, spooled.sha256, spooled.contentType, false);
+        }
+        // 通知缩略图生成等后续处理（监听方异步执行，不阻塞上传请求）
+        if (eventPublisher != null) {
+            eventPublisher.publishEvent(new FileStoredEvent(stored));
+        }
+        return stored;
+    }
+
+    /**
+     * 解析上传目录内的相对路径，越出上传目录时返回 null
+     */
+    public Path resolve(String relativePath) {
+        if (relativePath == null) {
+            return null;
         }
+        Path path = uploadPath.resolve(relativePath).normalize();
+        return path.startsWith(uploadPath) ? path : null;
+    }
+
+    /** 临时文件目录，与上传目录位于同一文件系统 */
+    public Path getIncomingPath() {
+        return incomingPath;
+    }
+
+    /**
+     * 上传文件只落盘一次：放到临时目录并计算 SHA-256，
+     * 对象已存在时删除临时文件直接复用，不存在时重命名为内容地址
+     */
+    private StoredFile storeContentAddressed(MultipartFile file, String originalFilename) throws IOException {
+        Spooled spooled = spool(file);
+        String key = contentKey(spooled.sha256, resolveExtension(spooled.contentType, originalFilename));
+        Path target = uploadPath.resolve(key);
 
-        // 生成唯一文件名
-        String uniqueFilename = UUID.randomUUID().toString() + extension;
+        Lock lock = contentLock(key);
+        lock.lock();
+        try {
+            if (Files.exists(target)) {
+                Files.deleteIfExists(spooled.tempFile);
+                // 刷新修改时间，避免刚被复用的对象被未引用对象清理任务删除
+                Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                return new StoredFile(key, spooled.size, spooled.sha256, spooled.contentType, true);
+            }
 
-        // 创建上传目录（如果不存在）
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
+            Files.createDirectories(target.getParent());
+            moveIntoPlace(spooled.tempFile, target);
+            return new StoredFile(key, spooled.size, spooled.sha256, spooled.contentType, false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spooled.tempFile);
+            throw e;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        // 保存文件
-        Path targetLocation = uploadPath.resolve(uniqueFilename);
-        Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * 内容寻址对象的锁（按对象路径分段），复用、写入和删除同一对象时需持有
+     */
+    public Lock contentLock(String key) {
+        return contentLocks[Math.floorMod(key.hashCode(), contentLocks.length)];
+    }
 
-        return uniqueFilename;
+    /**
+     * 内容寻址的相对路径：用哈希前两个字节分两级目录，避免单个目录下文件过多
+     */
+    private String contentKey(String sha256, String extension) {
+        return sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256 + extension;
     }
 
     /**
-     * 生成公共URL（自动从请求中获取Host，如果没有请求则使用配置的IP或自动检测）
+     * 从图片URL中提取内容寻址的对象路径（ab/cd/<sha256>.<ext>），不是内容寻址的URL返回 null
      */
-    public String generatePublicUrl(String filename) {
-        if (filename == null || filename.isEmpty()) {
+    public String contentKeyOf(String imageUrl) {
+        if (imageUrl == null) {
             return null;
         }
-        
-        // 尝试从当前请求中获取Host
+        Matcher matcher = CONTENT_KEY_IN_URL.matcher(imageUrl);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * 删除内容寻址对象；修改时间在 minAgeMillis 之内（期间被重新上传复用过）的对象保留并返回 false
+     */
+    public boolean deleteContentObject(String key, long minAgeMillis) throws IOException {
+        if (key == null || !CONTENT_KEY.matcher(key).matches()) {
+            return true;
+        }
+        Path target = uploadPath.resolve(key);
+        Lock lock = contentLock(key);
+        lock.lock();
         try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                return generatePublicUrl(filename, request);
-            }
-        } catch (Exception e) {
-            // 如果获取请求失败，继续使用配置的IP
-        }
-        
-        // 如果没有请求上下文，使用配置的IP或自动检测
-        String host;
-        if (serverIp != null && !serverIp.isEmpty()) {
-            host = serverIp;
-        } else {
-            // 尝试自动获取本机IP地址
+            FileTime modified;
             try {
-                host = InetAddress.getLocalHost().getHostAddress();
-            } catch (UnknownHostException e) {
-                host = "localhost";
+                modified = Files.getLastModifiedTime(target);
+            } catch (NoSuchFileException e) {
+                return true;
             }
+            if (System.currentTimeMillis() - modified.toMillis() < minAgeMillis) {
+                return false;
+            }
+            Files.deleteIfExists(target);
+            return true;
+        } finally {
+            lock.unlock();
         }
-        return "http://" + host + ":" + serverPort + "/uploads/" + filename;
     }
 
     /**
-     * 生成公共URL（动态从请求中获取Host，推荐使用此方法）
-     * 这样无论在哪里运行，都能自动使用正确的IP地址
+     * 把上传文件放到临时目录：multipart 临时文件同样位于 .incoming 时，transferTo 只是一次重命名，不再复制内容；
+     * 然后顺序读一遍临时文件，识别真实类型并计算 SHA-256
      */
-    public String generatePublicUrl(String filename, HttpServletRequest request) {
-        if (filename == null || filename.isEmpty()) {
-            return null;
-        }
+    private Spooled spool(MultipartFile file) throws IOException {
+        Path tempFile = incomingPath.resolve(UUID.randomUUID() + ".part");
         try {
-            // 使用请求的Host动态构建URL
-            String baseUrl = ServletUriComponentsBuilder.fromRequestUri(request)
-                    .replacePath(null)
-                    .build()
-                    .toUriString();
-            return baseUrl + "/uploads/" + filename;
-        } catch (Exception e) {
-            // 如果动态获取失败，回退到使用配置的IP
-            return generatePublicUrl(filename);
+            file.transferTo(tempFile.toFile());
+            return hash(tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
         }
     }
 
     /**
-     * 修复图片URL中的旧IP地址，替换为当前请求的IP
-     * 用于修复数据库中存储的旧IP地址的图片URL
+     * 只读计算 SHA-256 和类型（使用固定大小的缓冲区）
      */
-    public String fixImageUrl(String imageUrl, HttpServletRequest request) {
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            return imageUrl;
+    private Spooled hash(Path tempFile) throws IOException {
+        MessageDigest digest = newSha256();
+        String contentType;
+        long size;
+        try (FileChannel in = FileChannel.open(tempFile, StandardOpenOption.READ)) {
+            ByteBuffer header = readHeader(in);
+            contentType = ContentSniffer.detect(header);
+            size = header.remaining();
+            digest.update(header);
+
+            ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                size += buffer.remaining();
+                digest.update(buffer);
+                buffer.clear();
+            }
         }
-        
-        // 如果URL不包含/uploads/，直接返回
-        if (!imageUrl.contains("/uploads/")) {
-            return imageUrl;
+        return new Spooled(tempFile, size, HexFormat.of().formatHex(digest.digest()), contentType);
+    }
+
+    private ByteBuffer readHeader(FileChannel in) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(ContentSniffer.HEADER_LENGTH);
+        while (header.hasRemaining() && in.read(header) >= 0) {
+            // 读满文件头或读到文件末尾
         }
-        
+        header.flip();
+        return header;
+    }
+
+    private void moveIntoPlace(Path tempFile, Path target) throws IOException {
         try {
-            // 获取当前请求的基础URL
-            String currentBaseUrl = ServletUriComponentsBuilder.fromRequestUri(request)
-                    .replacePath(null)
-                    .build()
-                    .toUriString();
-            
-            // 提取文件名
-            String filename = imageUrl.substring(imageUrl.lastIndexOf("/uploads/") + "/uploads/".length());
-            
-            // 如果URL包含旧IP（192.168.100.147），替换为当前IP
-            if (imageUrl.contains("192.168.100.147")) {
-                return currentBaseUrl + "/uploads/" + filename;
-            }
-            
-            // 如果URL已经是相对路径或使用当前IP，直接返回
-            return imageUrl;
-        } catch (Exception e) {
-            // 如果修复失败，返回原URL
-            return imageUrl;
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
         }
     }
 
-    /**
-     * 修复图片URL（无请求上下文版本，尝试从RequestContextHolder获取）
-     */
-    public String fixImageUrl(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            return imageUrl;
+    private static final class Spooled {
+        private final Path tempFile;
+        private final long size;
+        private final String sha256;
+        private final String contentType;
+
+        private Spooled(Path tempFile, long size, String sha256, String contentType) {
+            this.tempFile = tempFile;
+            this.size = size;
+            this.sha256 = sha256;
+            this.contentType = contentType;
         }
-        
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                return fixImageUrl(imageUrl, request);
+    }
+
+    private String resolveExtension(String contentType, String originalFilename) {
+        String sniffed = ContentSniffer.extensionFor(contentType);
+        if (sniffed != null) {
+            return sniffed;
+        }
+        int lastDotIndex = originalFilename.lastIndexOf('.');
+        if (lastDotIndex > 0) {
+            String extension = originalFilename.substring(lastDotIndex).toLowerCase();
+            // 只保留简单的字母数字扩展名
+            if (extension.matches("\\.[a-z0-9]{1,10}")) {
+                return extension;
             }
-        } catch (Exception e) {
-            // 如果获取请求失败，返回原URL
         }
-        
-        return imageUrl;
+        return "";
     }
-}
-
 
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.segi.campusassistance.service;
 
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.ItemRequest;
 import com.segi.campusassistance.dto.ItemResponse;
 import org.springframework.web.multipart.MultipartFile;
@@ -24,5 +25,8 @@ public interface ItemService {
     ItemResponse getItem(Long itemId, Long currentUserId, String currentUserRole);
 
     List<ItemResponse> getItems(String search, String status, String category, String sort, Long currentUserId, String currentUserRole);
+
+    CursorPage<ItemResponse> getItemsPage(String search, String status, String category, String sort,
+                                          String cursor, Integer limit, Long currentUserId, String currentUserRole);
 }
 
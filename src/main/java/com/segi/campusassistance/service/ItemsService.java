@@ -1,5 +1,6 @@
 package com.segi.campusassistance.service;
 
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.ItemsRequest;
 import com.segi.campusassistance.dto.ItemsResponse;
 
@@ -11,6 +12,8 @@ public interface ItemsService {
 
     List<ItemsResponse> getAllItems(Long currentUserId, String currentUserRole);
 
+    CursorPage<ItemsResponse> getItemsPage(String cursor, Integer limit, Long currentUserId, String currentUserRole);
+
     List<ItemsResponse> getItemsByUserId(Long userId, Long currentUserId, String currentUserRole);
 
     ItemsResponse getItemById(Long id, Long currentUserId, String currentUserRole);
@@ -1,5 +1,6 @@
 package com.segi.campusassistance.service;
 
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.MarketplaceItemRequest;
 import com.segi.campusassistance.dto.MarketplaceItemResponse;
 
@@ -17,6 +18,9 @@ public interface MarketplaceItemService {
 
     List<MarketplaceItemResponse> getItems(String filter, Long currentUserId, String currentUserRole);
 
+    CursorPage<MarketplaceItemResponse> getItemsPage(String filter, String cursor, Integer limit,
+                                                     Long currentUserId, String currentUserRole);
+
     List<MarketplaceItemResponse> searchItems(String query, Long currentUserId, String currentUserRole);
 }
 
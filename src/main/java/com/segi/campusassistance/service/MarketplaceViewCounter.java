@@ -0,0 +1,152 @@
+package com.segi.campusassistance.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 市场商品浏览量的写回缓存（write-behind）
+ * 详情页浏览只在内存中累加，定时批量写回 marketplace_items.views，
+ * 避免每次浏览都对商品行执行 UPDATE 并持有行锁
+ * 列表版本号（ETag）不随每次写回变化，否则活跃时段列表的 304 几乎不会命中；
+ * 浏览量变化最多每 marketplace.views.list-refresh-ms 更新一次列表版本，
+ * 即列表中的 views 最多落后 list-refresh-ms + flush-interval-ms（默认约 5 分钟）
+ */
+@Service
+public class MarketplaceViewCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(MarketplaceViewCounter.class);
+
+    private static final String FLUSH_SQL = "UPDATE marketplace_items SET views = views + ? WHERE item_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DetailCache detailCache;
+    private final FeedVersions feedVersions;
+
+    // 尚未写回的增量，LongAdder 在高并发下按线程分段计数，热门商品不会争用同一个计数器
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    // 正在写回、但数据库事务尚未提交的增量，读取时一并计入，避免浏览量短暂回落
+    private final Map<Long, Long> flushing = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final long listRefreshNanos;
+
+    // 以下字段只在持有 flushLock 时访问
+    private boolean viewsChangedSinceBump;
+    private long lastBumpNanos = System.nanoTime();
+
+    public MarketplaceViewCounter(JdbcTemplate jdbcTemplate, DetailCache detailCache, FeedVersions feedVersions,
+                                  @Value("${marketplace.views.list-refresh-ms:300000}") long listRefreshMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.detailCache = detailCache;
+        this.feedVersions = feedVersions;
+        this.listRefreshNanos = listRefreshMs * 1_000_000L;
+    }
+
+    public void increment(Long itemId) {
+        // 写回时会移除已归零的计数器；若累加的计数器恰好已被移除，换新的计数器重新累加
+        LongAdder adder;
+        do {
+            adder = pending.computeIfAbsent(itemId, id -> new LongAdder());
+            adder.increment();
+        } while (pending.get(itemId) != adder);
+    }
+
+    /**
+     * 返回该商品尚未持久化的浏览量，调用方将其与数据库中的 views 相加
+     */
+    public long pendingViews(Long itemId) {
+        LongAdder adder = pending.get(itemId);
+        long inMemory = adder != null ? adder.sum() : 0L;
+        return inMemory + flushing.getOrDefault(itemId, 0L);
+    }
+
+    public Integer withPending(Long itemId, Integer persistedViews) {
+        long total = (persistedViews != null ? persistedViews : 0) + pendingViews(itemId);
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    @Scheduled(fixedDelayString = "${marketplace.views.flush-interval-ms:5000}")
+    public void flush() {
+        // 写回期间持有锁执行 JDBC，使用 ReentrantLock 避免虚拟线程被固定在载体线程上
+        flushLock.lock();
+        try {
+            doFlush();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlush() {
+        List<Object[]> batch = new ArrayList<>();
+        // 按主键顺序更新，多实例同时写回时加锁顺序一致，不会互相死锁
+        List<Long> itemIds = new ArrayList<>(pending.keySet());
+        itemIds.sort(null);
+        for (Long itemId : itemIds) {
+            LongAdder adder = pending.get(itemId);
+            if (adder == null) {
+                continue;
+            }
+            long delta = adder.sum();
+            if (delta > 0) {
+                // 先计入 flushing 再从计数器扣除，pendingViews 在两步之间不会少算
+                flushing.merge(itemId, delta, Long::sum);
+                adder.add(-delta);
+                batch.add(new Object[]{delta, itemId});
+            } else {
+                // 上一轮之后没有新浏览，移除计数器，pending 只保留近期被浏览的商品
+                pending.remove(itemId, adder);
+            }
+        }
+        if (batch.isEmpty()) {
+            bumpListVersionIfDue();
+            return;
+        }
+
+        boolean flushed = false;
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            flushed = true;
+        } catch (RuntimeException e) {
+            // 写回失败时把增量放回内存，下一轮重试
+            for (Object[] row : batch) {
+                pending.computeIfAbsent((Long) row[1], id -> new LongAdder()).add((Long) row[0]);
+            }
+            log.warn("Failed to flush {} marketplace view counters, will retry: {}", batch.size(), e.getMessage());
+        } finally {
+            for (Object[] row : batch) {
+                flushing.remove((Long) row[1]);
+            }
+        }
+        if (flushed) {
+            // 详情缓存中的 views 已落后于数据库
+            detailCache.evictMarketplaceItems(batch.stream().map(row -> (Long) row[1]).toList());
+            viewsChangedSinceBump = true;
+        }
+        bumpListVersionIfDue();
+    }
+
+    private void bumpListVersionIfDue() {
+        long now = System.nanoTime();
+        if (viewsChangedSinceBump && now - lastBumpNanos >= listRefreshNanos) {
+            feedVersions.bump(FeedVersions.Feed.MARKETPLACE);
+            viewsChangedSinceBump = false;
+            lastBumpNanos = now;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
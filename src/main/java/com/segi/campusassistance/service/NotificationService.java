@@ -3,12 +3,16 @@ package com.segi.campusassistance.service;
 import com.segi.campusassistance.dto.NotificationResponse;
 import com.segi.campusassistance.entity.Notification;
 import com.segi.campusassistance.repository.NotificationRepository;
+import com.segi.campusassistance.util.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,6 +20,8 @@ import java.util.stream.Collectors;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationStreamService notificationStreamService;
+    private final FeedVersions feedVersions;
 
     public List<NotificationResponse> getLatestNotifications() {
         List<Notification> notifications = notificationRepository.findAll(
@@ -30,6 +36,65 @@ public class NotificationService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 增量拉取：只返回 id 大于 sinceId 的通知（最新的在前），客户端传入已知的最大 id 即可
+     */
+    public List<NotificationResponse> getNotificationsSince(Long sinceId) {
+        return toResponses(notificationRepository.findByIdGreaterThan(sinceId, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    /**
+     * 打开 SSE 连接；携带 Last-Event-ID 重连时按时间顺序补发断线期间创建的通知
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        if (lastEventId == null) {
+            return notificationStreamService.subscribe(List::of);
+        }
+        // 补发查询在连接注册之后执行，见 NotificationStreamService.subscribe
+        return notificationStreamService.subscribe(() ->
+                toResponses(notificationRepository.findByIdGreaterThan(lastEventId, Sort.by(Sort.Direction.ASC, "id"))));
+    }
+
+    @Transactional
+    public Notification createNotification(Notification notification) {
+        if (notification.getTime() == null) {
+            notification.setTime(LocalDateTime.now());
+        }
+        Notification saved = notificationRepository.save(notification);
+        AfterCommit.run(() -> notificationStreamService.publishCreated(NotificationResponse.fromEntity(saved)));
+        feedVersions.bump(FeedVersions.Feed.NOTIFICATIONS);
+        return saved;
+    }
+
+    @Transactional
+    public Optional<Notification> updateNotification(Long id, Notification notificationDetails) {
+        return notificationRepository.findById(id).map(notification -> {
+            notification.setMessage(notificationDetails.getMessage());
+            notification.setTime(notificationDetails.getTime() != null ? notificationDetails.getTime() : LocalDateTime.now());
+            Notification updated = notificationRepository.save(notification);
+            AfterCommit.run(() -> notificationStreamService.publishUpdated(NotificationResponse.fromEntity(updated)));
+            feedVersions.bump(FeedVersions.Feed.NOTIFICATIONS);
+            return updated;
+        });
+    }
+
+    @Transactional
+    public boolean deleteNotification(Long id) {
+        if (!notificationRepository.existsById(id)) {
+            return false;
+        }
+        notificationRepository.deleteById(id);
+        AfterCommit.run(() -> notificationStreamService.publishDeleted(id));
+        feedVersions.bump(FeedVersions.Feed.NOTIFICATIONS);
+        return true;
+    }
+
+    private List<NotificationResponse> toResponses(List<Notification> notifications) {
+        return notifications.stream()
+                .map(NotificationResponse::fromEntity)
+                .collect(Collectors.toList());
+    }
+
     private List<NotificationResponse> fallback() {
         LocalDateTime now = LocalDateTime.now();
         return List.of(
@@ -0,0 +1,109 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.dto.NotificationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * 通知的 SSE 推送：维护在线的 SseEmitter，新通知创建后广播给所有连接
+ * 事件 id 即通知 id，客户端断线重连时通过 Last-Event-ID 补发缺失的通知
+ */
+@Service
+public class NotificationStreamService {
+
+    public static final String EVENT_CREATED = "notification";
+    public static final String EVENT_UPDATED = "notification-updated";
+    public static final String EVENT_DELETED = "notification-deleted";
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationStreamService.class);
+
+    // 建议客户端断线后的重连间隔
+    private static final long RECONNECT_DELAY_MS = 3000L;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    /**
+     * 注册新连接，再查询并补发 missed 返回的通知（按 id 升序）
+     * 先注册再查询：查询前后提交的通知至少经由广播或补发之一送达，可能重复一条，客户端按 id 去重即可
+     */
+    public SseEmitter subscribe(Supplier<List<NotificationResponse>> missed) {
+        SseEmitter emitter = createEmitter();
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitters.remove(emitter));
+
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_DELAY_MS).comment("connected"));
+            for (NotificationResponse notification : missed.get()) {
+                emitter.send(createdEvent(notification));
+            }
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public void publishCreated(NotificationResponse notification) {
+        broadcast(() -> createdEvent(notification));
+    }
+
+    public void publishUpdated(NotificationResponse notification) {
+        // 更新和删除事件不带 id，避免客户端的 Last-Event-ID 被回退
+        broadcast(() -> SseEmitter.event().name(EVENT_UPDATED).data(notification));
+    }
+
+    public void publishDeleted(Long notificationId) {
+        broadcast(() -> SseEmitter.event().name(EVENT_DELETED).data(Map.of("id", notificationId)));
+    }
+
+    public int getConnectionCount() {
+        return emitters.size();
+    }
+
+    /**
+     * 定时发送注释行作为心跳，防止代理因连接空闲而断开，同时清理已失效的连接
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcast(() -> SseEmitter.event().comment("heartbeat"));
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(streamTimeoutMs);
+    }
+
+    private SseEmitter.SseEventBuilder createdEvent(NotificationResponse notification) {
+        return SseEmitter.event()
+                .id(String.valueOf(notification.getId()))
+                .name(EVENT_CREATED)
+                .data(notification);
+    }
+
+    // SseEventBuilder 每次 build 都会追加内容，不能在多个连接之间复用，因此按连接重新构建
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+                emitters.remove(emitter);
+                log.debug("Dropping notification stream: {}", e.getMessage());
+            }
+        }
+    }
+}
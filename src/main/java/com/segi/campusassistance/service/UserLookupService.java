@@ -0,0 +1,52 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.repository.UserSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 批量解析作者/卖家信息，避免列表接口逐行调用 userRepository.findById
+ */
+@Service
+@RequiredArgsConstructor
+public class UserLookupService {
+
+    private final UserRepository userRepository;
+
+    /**
+     * 收集一页数据中去重后的用户ID，用一次 IN (...) 查询返回 userId -> 用户信息
+     */
+    public <T> Map<Long, UserSummary> findSummaries(Collection<T> rows, Function<T, Long> userIdExtractor) {
+        Set<Long> userIds = new LinkedHashSet<>();
+        for (T row : rows) {
+            Long userId = userIdExtractor.apply(row);
+            if (userId != null) {
+                userIds.add(userId);
+            }
+        }
+        return findSummaries(userIds);
+    }
+
+    public Map<Long, UserSummary> findSummaries(Collection<Long> userIds) {
+        Set<Long> distinctIds = new LinkedHashSet<>(userIds);
+        distinctIds.removeIf(Objects::isNull);
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, UserSummary> result = new HashMap<>(distinctIds.size() * 2);
+        for (UserSummary summary : userRepository.findSummariesByIdIn(distinctIds)) {
+            result.put(summary.getId(), summary);
+        }
+        return result;
+    }
+}
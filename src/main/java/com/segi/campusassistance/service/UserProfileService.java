@@ -2,41 +2,34 @@ package com.segi.campusassistance.service;
 
 import com.segi.campusassistance.dto.UserProfileResponse;
 import com.segi.campusassistance.dto.UserProfileUpdateRequest;
-import com.segi.campusassistance.entity.Chat;
 import com.segi.campusassistance.entity.User;
-import com.segi.campusassistance.repository.ChatMessageRepository;
-import com.segi.campusassistance.repository.ChatRepository;
-import com.segi.campusassistance.repository.ItemRepository;
-import com.segi.campusassistance.repository.ItemsRepository;
-import com.segi.campusassistance.repository.MarketplaceItemRepository;
 import com.segi.campusassistance.repository.UserRepository;
 import com.segi.campusassistance.security.UserPrincipal;
+import com.segi.campusassistance.storage.ContentStoreJanitor;
+import com.segi.campusassistance.storage.MediaUrlResolver;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserProfileService {
 
     private final UserRepository userRepository;
-    private final ItemRepository itemRepository;
-    private final ItemsRepository itemsRepository;
-    private final MarketplaceItemRepository marketplaceItemRepository;
-    private final ChatRepository chatRepository;
-    private final ChatMessageRepository chatMessageRepository;
     private final FileStorageService fileStorageService;
+    private final ContentStoreJanitor contentStoreJanitor;
+    private final MediaUrlResolver mediaUrlResolver;
+    private final DetailCache detailCache;
+    private final FeedVersions feedVersions;
 
     @Transactional(readOnly = true)
     public UserProfileResponse getCurrentUser(UserPrincipal principal) {
@@ -47,9 +40,18 @@ public class UserProfileService {
     @Transactional
     public UserProfileResponse updateCurrentUser(UserPrincipal principal, UserProfileUpdateRequest request) {
         User user = getUser(principal);
+        if (!Objects.equals(user.getName(), request.getFullName())) {
+            // 详情缓存和列表响应中都包含作者名
+            detailCache.evictAll();
+            feedVersions.bump(FeedVersions.Feed.ITEMS, FeedVersions.Feed.MARKETPLACE);
+        }
         user.setName(request.getFullName());
         if (request.getPhotoUrl() != null) {
-            user.setPicture(StringUtils.hasText(request.getPhotoUrl()) ? request.getPhotoUrl() : null);
+            String previousPicture = user.getPicture();
+            user.setPicture(StringUtils.hasText(request.getPhotoUrl()) ? MediaUrlResolver.toKey(request.getPhotoUrl()) : null);
+            if (previousPicture != null && !previousPicture.equals(user.getPicture())) {
+                contentStoreJanitor.release(previousPicture);
+            }
         }
         User saved = userRepository.save(user);
         return UserProfileResponse.fromEntity(saved);
@@ -63,11 +65,16 @@ public class UserProfileService {
         }
 
         String filename = fileStorageService.storeFile(file);
-        String url = fileStorageService.generatePublicUrl(filename);
+        String key = MediaUrlResolver.keyFor(filename);
 
-        user.setPicture(url);
+        if (user.getPicture() != null && !user.getPicture().equals(key)) {
+            contentStoreJanitor.release(user.getPicture());
+        }
+        user.setPicture(key);
         userRepository.save(user);
 
+        String url = mediaUrlResolver.expand(key);
+
         Map<String, Object> response = new HashMap<>();
         response.put("url", url);
         response.put("photoUrl", url);
@@ -77,43 +84,6 @@ public class UserProfileService {
         return response;
     }
 
-    @Transactional
-    public void deleteCurrentUser(UserPrincipal principal) {
-        User user = getUser(principal);
-        Long userId = user.getId();
-
-        try {
-            // 1. 先删除所有 chat_messages（必须先删除子表数据）
-            // 获取用户参与的所有 chats
-            List<Chat> chats = chatRepository.findByOwnerIdOrRequesterId(userId, userId);
-            if (!CollectionUtils.isEmpty(chats)) {
-                List<Long> chatIds = chats.stream()
-                        .map(Chat::getId)
-                        .collect(Collectors.toList());
-                
-                // 先删除所有 chat_messages（子表）
-                if (!chatIds.isEmpty()) {
-                    chatMessageRepository.deleteByChatIdIn(chatIds);
-                }
-                
-                // 然后删除 chats（父表）
-                chatRepository.deleteAllByIdInBatch(chatIds);
-            }
-
-            // 2. 删除失物报告（items 和 items 表）
-            itemRepository.deleteByUserId(userId);
-            itemsRepository.deleteByUserId(userId);
-            
-            // 3. 删除市场商品
-            marketplaceItemRepository.deleteBySellerId(userId);
-
-            // 4. 最后删除用户本身
-            userRepository.delete(user);
-        } catch (Exception ex) {
-            throw new IllegalStateException("Failed to delete user data: " + ex.getMessage(), ex);
-        }
-    }
-
     private User getUser(UserPrincipal principal) {
         if (principal == null || principal.getUserId() == null) {
             throw new EntityNotFoundException("User not found");
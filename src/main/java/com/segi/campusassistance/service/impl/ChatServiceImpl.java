@@ -1,6 +1,8 @@
 package com.segi.campusassistance.service.impl;
 
+import com.segi.campusassistance.dto.ChatEvent;
 import com.segi.campusassistance.dto.ChatResponse;
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.MessageRequest;
 import com.segi.campusassistance.dto.MessageResponse;
 import com.segi.campusassistance.entity.Chat;
@@ -11,34 +13,60 @@ import com.segi.campusassistance.repository.ChatMessageRepository;
 import com.segi.campusassistance.repository.ChatRepository;
 import com.segi.campusassistance.repository.ItemRepository;
 import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.repository.UserSummary;
+import com.segi.campusassistance.service.ChatEventPublisher;
 import com.segi.campusassistance.service.ChatService;
+import com.segi.campusassistance.service.UserLookupService;
+import com.segi.campusassistance.util.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 public class ChatServiceImpl implements ChatService {
 
+    private static final int DEFAULT_MESSAGE_LIMIT = 50;
+    private static final int MAX_MESSAGE_LIMIT = 100;
+
     private final ChatRepository chatRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final ChatEventPublisher chatEventPublisher;
+    private final Counter messagesSent;
 
     public ChatServiceImpl(ChatRepository chatRepository,
                           ChatMessageRepository chatMessageRepository,
                           ItemRepository itemRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          UserLookupService userLookupService,
+                          ChatEventPublisher chatEventPublisher,
+                          MeterRegistry meterRegistry) {
         this.chatRepository = chatRepository;
         this.chatMessageRepository = chatMessageRepository;
         this.itemRepository = itemRepository;
         this.userRepository = userRepository;
+        this.userLookupService = userLookupService;
+        this.chatEventPublisher = chatEventPublisher;
+        this.messagesSent = Counter.builder("chat.messages.sent")
+                .description("Chat messages sent")
+                .register(meterRegistry);
     }
 
     @Override
@@ -87,8 +115,8 @@ public class ChatServiceImpl implements ChatService {
         User requester = userRepository.findById(requesterId)
                 .orElseThrow(() -> new EntityNotFoundException("Requester not found"));
 
-        // 获取未读消息数（对于当前用户）
-        Long unreadCount = chatMessageRepository.countUnreadMessages(chat.getId(), currentUserId);
+        // 未读数直接取自聊天行上的计数
+        Long unreadCount = chat.getUnreadCountFor(currentUserId);
 
         return ChatResponse.fromEntity(
                 chat,
@@ -115,7 +143,7 @@ public class ChatServiceImpl implements ChatService {
         User requester = userRepository.findById(chat.getRequesterId())
                 .orElseThrow(() -> new EntityNotFoundException("Requester not found"));
 
-        Long unreadCount = chatMessageRepository.countUnreadMessages(chatId, currentUserId);
+        Long unreadCount = chat.getUnreadCountFor(currentUserId);
 
         return ChatResponse.fromEntity(
                 chat,
@@ -128,26 +156,60 @@ public class ChatServiceImpl implements ChatService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ChatResponse> getUserChats(Long userId) {
+        // 收件箱读取路径：聊天列表（含未读数）、最后一条消息、参与者信息各一次查询，与聊天数量无关
         List<Chat> chats = chatRepository.findByUserId(userId);
+        if (chats.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> chatIds = new ArrayList<>(chats.size());
+        List<Long> participantIds = new ArrayList<>(chats.size() * 2);
+        for (Chat chat : chats) {
+            chatIds.add(chat.getId());
+            participantIds.add(chat.getOwnerId());
+            participantIds.add(chat.getRequesterId());
+        }
+
+        Map<Long, ChatMessage> lastMessages = new HashMap<>();
+        for (ChatMessage message : chatMessageRepository.findLastMessagesByChatIds(chatIds)) {
+            lastMessages.put(message.getChatId(), message);
+        }
+
+        Map<Long, UserSummary> users = userLookupService.findSummaries(participantIds);
+
         return chats.stream()
                 .map(chat -> {
-                    User owner = userRepository.findById(chat.getOwnerId()).orElse(null);
-                    User requester = userRepository.findById(chat.getRequesterId()).orElse(null);
-                    Long unreadCount = chatMessageRepository.countUnreadMessages(chat.getId(), userId);
-                    
-                    return ChatResponse.fromEntity(
+                    UserSummary owner = users.get(chat.getOwnerId());
+                    UserSummary requester = users.get(chat.getRequesterId());
+
+                    ChatResponse response = ChatResponse.fromEntity(
                             chat,
                             owner != null ? owner.getName() : "Unknown",
                             owner != null ? owner.getPicture() : null,
                             requester != null ? requester.getName() : "Unknown",
                             requester != null ? requester.getPicture() : null,
-                            unreadCount
+                            chat.getUnreadCountFor(userId)
                     );
+
+                    ChatMessage lastMessage = lastMessages.get(chat.getId());
+                    if (lastMessage != null) {
+                        response.setLastMessage(lastMessage.getContent());
+                        response.setLastMessageSenderId(lastMessage.getSenderId());
+                        response.setLastMessageAt(lastMessage.getCreatedAt());
+                    }
+                    return response;
                 })
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public long getUnreadTotal(Long userId) {
+        Long total = chatRepository.sumUnreadByUserId(userId);
+        return total != null ? total : 0L;
+    }
+
     @Override
     public Page<MessageResponse> getChatMessages(Long chatId, Long currentUserId, Pageable pageable) {
         // 验证聊天存在和权限
@@ -159,14 +221,9 @@ public class ChatServiceImpl implements ChatService {
         }
 
         Page<ChatMessage> messages = chatMessageRepository.findByChatIdOrderByCreatedAtDesc(chatId, pageable);
-        
-        return messages.map(message -> {
-            User sender = userRepository.findById(message.getSenderId()).orElse(null);
-            return MessageResponse.fromEntity(
-                    message,
-                    sender != null ? sender.getName() : "Unknown"
-            );
-        });
+        Map<Long, UserSummary> senders = userLookupService.findSummaries(messages.getContent(), ChatMessage::getSenderId);
+
+        return messages.map(message -> toMessageResponse(message, senders));
     }
 
     @Override
@@ -180,16 +237,77 @@ public class ChatServiceImpl implements ChatService {
         }
 
         List<ChatMessage> messages = chatMessageRepository.findByChatIdOrderByCreatedAtAsc(chatId);
-        
+        Map<Long, UserSummary> senders = userLookupService.findSummaries(messages, ChatMessage::getSenderId);
+
         return messages.stream()
-                .map(message -> {
-                    User sender = userRepository.findById(message.getSenderId()).orElse(null);
-                    return MessageResponse.fromEntity(
-                            message,
-                            sender != null ? sender.getName() : "Unknown"
-                    );
-                })
+                .map(message -> toMessageResponse(message, senders))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MessageResponse> getChatMessages(Long chatId, Long currentUserId, Long before, Long after, Integer limit) {
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Specify either before or after, not both");
+        }
+
+        Chat chat = chatRepository.findById(chatId)
+                .orElseThrow(() -> new EntityNotFoundException("Chat not found"));
+
+        if (!chat.getOwnerId().equals(currentUserId) && !chat.getRequesterId().equals(currentUserId)) {
+            throw new AccessDeniedException("Not authorized to access this chat");
+        }
+
+        int pageSize = resolveMessageLimit(limit);
+        // 多取一行用于判断是否还有下一页，不执行 COUNT
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<ChatMessage> rows;
+        if (after != null) {
+            ChatMessage anchor = findCursorMessage(chatId, after);
+            rows = chatMessageRepository.findAfter(chatId, anchor.getCreatedAt(), anchor.getId(), window);
+        } else if (before != null) {
+            ChatMessage anchor = findCursorMessage(chatId, before);
+            rows = chatMessageRepository.findBefore(chatId, anchor.getCreatedAt(), anchor.getId(), window);
+        } else {
+            rows = chatMessageRepository.findLatest(chatId, window);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ChatMessage> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        String nextCursor = null;
+        if (hasMore) {
+            // 向前翻页时游标是本页最早的一条，向后追加时是本页最新的一条
+            nextCursor = String.valueOf(page.get(page.size() - 1).getId());
+        }
+        if (after == null) {
+            // before / 最新一页按倒序读取，翻转为时间正序返回
+            Collections.reverse(page);
+        }
+
+        Map<Long, UserSummary> senders = userLookupService.findSummaries(page, ChatMessage::getSenderId);
+        List<MessageResponse> responses = page.stream()
+                .map(message -> toMessageResponse(message, senders))
                 .collect(Collectors.toList());
+        return new CursorPage<>(responses, nextCursor);
+    }
+
+    private ChatMessage findCursorMessage(Long chatId, Long messageId) {
+        return chatMessageRepository.findById(messageId)
+                .filter(message -> chatId.equals(message.getChatId()))
+                .orElseThrow(() -> new IllegalArgumentException("Invalid cursor"));
+    }
+
+    private static int resolveMessageLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_MESSAGE_LIMIT;
+        }
+        return Math.min(limit, MAX_MESSAGE_LIMIT);
+    }
+
+    private static MessageResponse toMessageResponse(ChatMessage message, Map<Long, UserSummary> senders) {
+        UserSummary sender = senders.get(message.getSenderId());
+        return MessageResponse.fromEntity(message, sender != null ? sender.getName() : "Unknown");
     }
 
     @Override
@@ -234,13 +352,17 @@ public class ChatServiceImpl implements ChatService {
 
         ChatMessage savedMessage = chatMessageRepository.save(message);
 
-        // 更新聊天更新时间
-        chatRepository.save(chat);
+        // 接收方未读数 +1，同时更新聊天更新时间
+        chatRepository.incrementUnread(chatId, savedMessage.getSenderId(), LocalDateTime.now());
+        AfterCommit.run(messagesSent::increment);
 
         User sender = userRepository.findById(savedMessage.getSenderId())
                 .orElseThrow(() -> new EntityNotFoundException("Sender not found"));
 
-        return MessageResponse.fromEntity(savedMessage, sender.getName());
+        MessageResponse response = MessageResponse.fromEntity(savedMessage, sender.getName());
+        // 推送给订阅了该聊天的客户端，以及双方的会话列表
+        chatEventPublisher.publish(ChatEvent.messageReceived(response), chat.getOwnerId(), chat.getRequesterId());
+        return response;
     }
 
     @Override
@@ -255,7 +377,13 @@ public class ChatServiceImpl implements ChatService {
         }
 
         // 标记当前用户收到的所有消息为已读
-        chatMessageRepository.markAsReadByChatIdAndUserId(chatId, currentUserId);
+        int updated = chatMessageRepository.markAsReadByChatIdAndUserId(chatId, currentUserId);
+        if (updated > 0) {
+            chatRepository.decrementUnread(chatId, currentUserId, updated);
+            // 已读回执：通知对方消息已被阅读
+            chatEventPublisher.publish(ChatEvent.messageRead(chatId, currentUserId, updated),
+                    chat.getOwnerId(), chat.getRequesterId());
+        }
     }
 }
 
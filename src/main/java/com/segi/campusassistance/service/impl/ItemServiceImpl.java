@@ -1,13 +1,26 @@
 package com.segi.campusassistance.service.impl;
 
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.ItemRequest;
 import com.segi.campusassistance.dto.ItemResponse;
 import com.segi.campusassistance.entity.Item;
 import com.segi.campusassistance.repository.ItemRepository;
+import com.segi.campusassistance.service.CachedDetail;
+import com.segi.campusassistance.service.DetailCache;
+import com.segi.campusassistance.service.FeedVersions;
 import com.segi.campusassistance.service.FileStorageService;
 import com.segi.campusassistance.service.ItemService;
+import com.segi.campusassistance.service.UserLookupService;
+import com.segi.campusassistance.storage.ContentStoreJanitor;
+import com.segi.campusassistance.storage.MediaUrlResolver;
 import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.repository.UserSummary;
+import com.segi.campusassistance.search.SearchDocuments;
+import com.segi.campusassistance.search.SearchIndex;
+import com.segi.campusassistance.util.AfterCommit;
+import com.segi.campusassistance.util.FeedCursor;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,20 +32,43 @@ import com.segi.campusassistance.entity.User;
 
 
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class ItemServiceImpl implements ItemService {
 
+    // 相关度排序只取前 1000 个命中，其余命中按默认顺序排在后面
+    private static final int MAX_RANKED_HITS = 1000;
+    // 按主键过滤时 IN 列表的上限（MySQL 单条语句最多 65535 个参数），超出时回退到数据库 LIKE 查询
+    private static final int MAX_ID_FILTER = 30000;
+
     private final ItemRepository itemRepository;
     private final FileStorageService fileStorageService;
     private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final SearchIndex itemSearchIndex;
+    private final ContentStoreJanitor contentStoreJanitor;
+    private final DetailCache detailCache;
+    private final FeedVersions feedVersions;
 
-    public ItemServiceImpl(ItemRepository itemRepository, FileStorageService fileStorageService, UserRepository userRepository) {
+    public ItemServiceImpl(ItemRepository itemRepository, FileStorageService fileStorageService,
+                           UserRepository userRepository, UserLookupService userLookupService,
+                           @Qualifier("itemSearchIndex") SearchIndex itemSearchIndex,
+                           ContentStoreJanitor contentStoreJanitor,
+                           DetailCache detailCache, FeedVersions feedVersions) {
         this.itemRepository = itemRepository;
         this.fileStorageService = fileStorageService;
         this.userRepository = userRepository;
+        this.userLookupService = userLookupService;
+        this.itemSearchIndex = itemSearchIndex;
+        this.contentStoreJanitor = contentStoreJanitor;
+        this.detailCache = detailCache;
+        this.feedVersions = feedVersions;
     }
 
     private String getUserName(Long userId) {
@@ -43,12 +79,17 @@ public class ItemServiceImpl implements ItemService {
         return userOptional.map(User::getName).orElse(null);
     }
 
+    private String getUserName(Map<Long, UserSummary> users, Long userId) {
+        UserSummary user = userId != null ? users.get(userId) : null;
+        return user != null ? user.getName() : null;
+    }
+
     @Override
     public ItemResponse createItem(Long userId, ItemRequest request) {
         Item item = new Item();
         item.setUserId(userId);
         applyRequest(item, request);
-        return ItemResponse.fromEntity(itemRepository.save(item));
+        return ItemResponse.fromEntity(index(itemRepository.save(item)));
     }
 
     @Override
@@ -60,15 +101,14 @@ public class ItemServiceImpl implements ItemService {
         if (image != null && !image.isEmpty()) {
             try {
                 String filename = fileStorageService.storeFile(image);
-                String imageUrl = fileStorageService.generatePublicUrl(filename);
-                request.setImageUrl(imageUrl);
+                request.setImageUrl(MediaUrlResolver.keyFor(filename));
             } catch (IOException e) {
                 throw new RuntimeException("File upload failed: " + e.getMessage(), e);
             }
         }
         
         applyRequest(item, request);
-        return ItemResponse.fromEntity(itemRepository.save(item));
+        return ItemResponse.fromEntity(index(itemRepository.save(item)));
     }
 
     @Override
@@ -80,7 +120,7 @@ public class ItemServiceImpl implements ItemService {
         applyRequest(item, request);
         // createdAt 和 updatedAt 会通过 @PrePersist 自动设置
 
-        Item saved = itemRepository.save(item);
+        Item saved = index(itemRepository.save(item));
 
         return ItemResponse.fromEntity(saved);
     }
@@ -101,9 +141,12 @@ public class ItemServiceImpl implements ItemService {
             throw new AccessDeniedException("Not authorized to edit this item");
         }
         
+        String previousImageUrl = item.getImageUrl();
         applyRequest(item, request);
         String userName = getUserName(item.getUserId());
-        Item updatedItem = itemRepository.save(item);
+        Item updatedItem = index(itemRepository.save(item));
+        releaseIfReplaced(previousImageUrl, updatedItem.getImageUrl());
+        detailCache.evictItem(itemId);
         return ItemResponse.fromEntity(updatedItem, userId, userRole, userName);
     }
 
@@ -124,16 +167,18 @@ public class ItemServiceImpl implements ItemService {
         if (image != null && !image.isEmpty()) {
             try {
                 String filename = fileStorageService.storeFile(image);
-                String imageUrl = fileStorageService.generatePublicUrl(filename);
-                request.setImageUrl(imageUrl);
+                request.setImageUrl(MediaUrlResolver.keyFor(filename));
             } catch (IOException e) {
                 throw new RuntimeException("File upload failed: " + e.getMessage(), e);
             }
         }
         
+        String previousImageUrl = item.getImageUrl();
         applyRequest(item, request);
         String userName = getUserName(item.getUserId());
-        Item updatedItem = itemRepository.save(item);
+        Item updatedItem = index(itemRepository.save(item));
+        releaseIfReplaced(previousImageUrl, updatedItem.getImageUrl());
+        detailCache.evictItem(itemId);
         return ItemResponse.fromEntity(updatedItem, userId, userRole, userName);
     }
 
@@ -151,29 +196,67 @@ public class ItemServiceImpl implements ItemService {
         }
         
         itemRepository.delete(item);
+        AfterCommit.run(() -> itemSearchIndex.delete(itemId));
+        detailCache.evictItem(itemId);
+        feedVersions.bump(FeedVersions.Feed.ITEMS);
+        contentStoreJanitor.release(item.getImageUrl());
     }
 
     @Override
     public ItemResponse getItem(Long itemId, Long currentUserId, String currentUserRole) {
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("Item not found"));
-        String userName = getUserName(item.getUserId());
-        return ItemResponse.fromEntity(item, currentUserId, currentUserRole, userName);
+        CachedDetail<Item> detail = detailCache.item(itemId);
+        return ItemResponse.fromEntity(detail.getEntity(), currentUserId, currentUserRole, detail.getAuthorName());
     }
 
     @Override
     public List<ItemResponse> getItems(String search, String status, String category, String sort, Long currentUserId, String currentUserRole) {
-        Specification<Item> specification = buildSpecification(search, status, category);
+        Set<Long> matchedIds = matchingIds(search);
+        Specification<Item> specification = buildSpecification(search, matchedIds, status, category);
         Sort sortOrder = resolveSort(sort);
-        return itemRepository.findAll(specification, sortOrder)
-                .stream()
-                .map(item -> {
-                    String userName = getUserName(item.getUserId());
-                    return ItemResponse.fromEntity(item, currentUserId, currentUserRole, userName);
-                })
+        List<Item> items = itemRepository.findAll(specification, sortOrder);
+        if (matchedIds != null && "relevance".equalsIgnoreCase(sort)) {
+            items = orderByRank(items, itemSearchIndex.search(search.trim(), MAX_RANKED_HITS));
+        }
+        // 一次批量查询解析所有作者名称
+        Map<Long, UserSummary> users = userLookupService.findSummaries(items, Item::getUserId);
+        return items.stream()
+                .map(item -> ItemResponse.fromEntity(item, currentUserId, currentUserRole,
+                        getUserName(users, item.getUserId())))
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    @Override
+    public CursorPage<ItemResponse> getItemsPage(String search, String status, String category, String sort,
+                                                 String cursor, Integer limit, Long currentUserId, String currentUserRole) {
+        Sort.Direction direction = resolveSortDirection(sort);
+        int pageSize = FeedCursor.resolveLimit(limit);
+
+        Specification<Item> specification = buildSpecification(search, matchingIds(search), status, category);
+        if (StringUtils.hasText(cursor)) {
+            FeedCursor feedCursor = FeedCursor.decode(cursor);
+            specification = specification.and(FeedCursor.after(
+                    "date", "id", feedCursor.sortValueAsDate(), feedCursor.getId(), direction));
+        }
+        // (date, id) 作为键集排序，多取一行用于判断是否还有下一页
+        Sort sortOrder = Sort.by(direction, "date").and(Sort.by(direction, "id"));
+        List<Item> rows = itemRepository.findBy(specification, query -> query.sortBy(sortOrder).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Item> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Item last = items.get(items.size() - 1);
+            nextCursor = FeedCursor.encode(last.getDate(), last.getId());
+        }
+
+        Map<Long, UserSummary> users = userLookupService.findSummaries(items, Item::getUserId);
+        List<ItemResponse> responses = items.stream()
+                .map(item -> ItemResponse.fromEntity(item, currentUserId, currentUserRole,
+                        getUserName(users, item.getUserId())))
+                .collect(java.util.stream.Collectors.toList());
+        return new CursorPage<>(responses, nextCursor);
+    }
+
     private void applyRequest(Item item, ItemRequest request) {
         item.setName(request.getName());
         item.setDescription(request.getDescription());
@@ -182,13 +265,51 @@ public class ItemServiceImpl implements ItemService {
         item.setLocation(request.getLocation());
         item.setContactInfo(request.getContactInfo());
         item.setDate(request.getDate());
-        item.setImageUrl(request.getImageUrl());
+        item.setImageUrl(MediaUrlResolver.toKey(request.getImageUrl()));
     }
 
-    private Specification<Item> buildSpecification(String search, String status, String category) {
+    private void releaseIfReplaced(String previousImageUrl, String currentImageUrl) {
+        if (previousImageUrl != null && !previousImageUrl.equals(currentImageUrl)) {
+            contentStoreJanitor.release(previousImageUrl);
+        }
+    }
+
+    private Item index(Item item) {
+        AfterCommit.run(() -> itemSearchIndex.upsert(SearchDocuments.of(item)));
+        feedVersions.bump(FeedVersions.Feed.ITEMS);
+        return item;
+    }
+
+    /**
+     * 通过搜索索引解析关键词，返回全部匹配的主键；
+     * 没有关键词、索引尚未就绪或命中过多时返回 null，由数据库 LIKE 查询兜底
+     */
+    private Set<Long> matchingIds(String search) {
+        if (!StringUtils.hasText(search) || !itemSearchIndex.isAvailable()) {
+            return null;
+        }
+        Set<Long> ids = itemSearchIndex.matchingIds(search.trim());
+        return ids.size() <= MAX_ID_FILTER ? ids : null;
+    }
+
+    private List<Item> orderByRank(List<Item> items, List<Long> rankedIds) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        return items.stream()
+                .sorted(Comparator.comparing(item -> rank.getOrDefault(item.getId(), Integer.MAX_VALUE)))
+                .collect(java.util.stream.Collectors.toList());
+    }
+
+    private Specification<Item> buildSpecification(String search, Set<Long> matchedIds, String status, String category) {
         Specification<Item> spec = Specification.where(null);
 
-        if (StringUtils.hasText(search)) {
+        if (matchedIds != null) {
+            // 索引已完成关键词匹配，数据库只需按主键过滤
+            spec = spec.and((root, query, cb) ->
+                    matchedIds.isEmpty() ? cb.disjunction() : root.get("id").in(matchedIds));
+        } else if (StringUtils.hasText(search)) {
             String keyword = "%" + search.trim().toLowerCase() + "%";
             spec = spec.and((root, query, cb) -> {
                 // 基础搜索字段
@@ -221,13 +342,14 @@ public class ItemServiceImpl implements ItemService {
     }
 
     private Sort resolveSort(String sort) {
-        if ("dateDesc".equalsIgnoreCase(sort)) {
-            return Sort.by(Sort.Direction.DESC, "date");
-        }
+        return Sort.by(resolveSortDirection(sort), "date");
+    }
+
+    private Sort.Direction resolveSortDirection(String sort) {
         if ("dateAsc".equalsIgnoreCase(sort)) {
-            return Sort.by(Sort.Direction.ASC, "date");
+            return Sort.Direction.ASC;
         }
-        return Sort.by(Sort.Direction.DESC, "date");
+        return Sort.Direction.DESC;
     }
 }
 
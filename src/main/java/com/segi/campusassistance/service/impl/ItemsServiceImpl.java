@@ -1,16 +1,27 @@
 package com.segi.campusassistance.service.impl;
 
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.ItemsRequest;
 import com.segi.campusassistance.dto.ItemsResponse;
 import com.segi.campusassistance.entity.Items;
 import com.segi.campusassistance.entity.User;
 import com.segi.campusassistance.repository.ItemsRepository;
 import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.repository.UserSummary;
+import com.segi.campusassistance.service.CachedDetail;
+import com.segi.campusassistance.service.DetailCache;
 import com.segi.campusassistance.service.ItemsService;
+import com.segi.campusassistance.service.UserLookupService;
+import com.segi.campusassistance.storage.MediaUrlResolver;
+import com.segi.campusassistance.util.FeedCursor;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -19,10 +30,15 @@ public class ItemsServiceImpl implements ItemsService {
 
     private final ItemsRepository itemsRepository;
     private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
+    private final DetailCache detailCache;
 
-    public ItemsServiceImpl(ItemsRepository itemsRepository, UserRepository userRepository) {
+    public ItemsServiceImpl(ItemsRepository itemsRepository, UserRepository userRepository,
+                            UserLookupService userLookupService, DetailCache detailCache) {
         this.itemsRepository = itemsRepository;
         this.userRepository = userRepository;
+        this.userLookupService = userLookupService;
+        this.detailCache = detailCache;
     }
 
     private String getUserName(Long userId) {
@@ -33,6 +49,18 @@ public class ItemsServiceImpl implements ItemsService {
         return userOptional.map(User::getName).orElse(null);
     }
 
+    private List<ItemsResponse> toResponses(List<Items> itemsList, Long currentUserId, String currentUserRole) {
+        // 一次批量查询解析所有作者名称
+        Map<Long, UserSummary> users = userLookupService.findSummaries(itemsList, Items::getUserId);
+        return itemsList.stream()
+                .map(item -> {
+                    UserSummary user = item.getUserId() != null ? users.get(item.getUserId()) : null;
+                    String userName = user != null ? user.getName() : null;
+                    return ItemsResponse.fromEntity(item, currentUserId, currentUserRole, userName);
+                })
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ItemsResponse createItem(ItemsRequest request) {
         Items items = new Items();
@@ -42,7 +70,7 @@ public class ItemsServiceImpl implements ItemsService {
         items.setLocation(request.getLocation());
         items.setDateLost(request.getDateLost());
         items.setCategory(request.getCategory());
-        items.setImage(request.getImage());
+        items.setImage(MediaUrlResolver.toKey(request.getImage()));
         items.setContact(request.getContact());
         items.setUserId(request.getUserId());
         
@@ -52,30 +80,42 @@ public class ItemsServiceImpl implements ItemsService {
 
     @Override
     public List<ItemsResponse> getAllItems(Long currentUserId, String currentUserRole) {
-        return itemsRepository.findAll().stream()
-                .map(item -> {
-                    String userName = getUserName(item.getUserId());
-                    return ItemsResponse.fromEntity(item, currentUserId, currentUserRole, userName);
-                })
-                .collect(Collectors.toList());
+        return toResponses(itemsRepository.findAll(), currentUserId, currentUserRole);
+    }
+
+    @Override
+    public CursorPage<ItemsResponse> getItemsPage(String cursor, Integer limit, Long currentUserId, String currentUserRole) {
+        int pageSize = FeedCursor.resolveLimit(limit);
+
+        Specification<Items> specification = Specification.where(null);
+        if (StringUtils.hasText(cursor)) {
+            FeedCursor feedCursor = FeedCursor.decode(cursor);
+            specification = specification.and(FeedCursor.after(
+                    "createdAt", "id", feedCursor.sortValueAsDateTime(), feedCursor.getId(), Sort.Direction.DESC));
+        }
+        // (createdAt, id) 作为键集排序，多取一行用于判断是否还有下一页
+        Sort sortOrder = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+        List<Items> rows = itemsRepository.findBy(specification, query -> query.sortBy(sortOrder).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<Items> itemsList = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Items last = itemsList.get(itemsList.size() - 1);
+            nextCursor = FeedCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(toResponses(itemsList, currentUserId, currentUserRole), nextCursor);
     }
 
     @Override
     public List<ItemsResponse> getItemsByUserId(Long userId, Long currentUserId, String currentUserRole) {
-        return itemsRepository.findByUserId(userId).stream()
-                .map(item -> {
-                    String userName = getUserName(item.getUserId());
-                    return ItemsResponse.fromEntity(item, currentUserId, currentUserRole, userName);
-                })
-                .collect(Collectors.toList());
+        return toResponses(itemsRepository.findByUserId(userId), currentUserId, currentUserRole);
     }
 
     @Override
     public ItemsResponse getItemById(Long id, Long currentUserId, String currentUserRole) {
-        Items items = itemsRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Item not found with id: " + id));
-        String userName = getUserName(items.getUserId());
-        return ItemsResponse.fromEntity(items, currentUserId, currentUserRole, userName);
+        CachedDetail<Items> detail = detailCache.items(id);
+        return ItemsResponse.fromEntity(detail.getEntity(), currentUserId, currentUserRole, detail.getAuthorName());
     }
 
     @Override
@@ -97,10 +137,11 @@ public class ItemsServiceImpl implements ItemsService {
         items.setLocation(request.getLocation());
         items.setDateLost(request.getDateLost());
         items.setCategory(request.getCategory());
-        items.setImage(request.getImage());
+        items.setImage(MediaUrlResolver.toKey(request.getImage()));
         items.setContact(request.getContact());
         
         Items updatedItem = itemsRepository.save(items);
+        detailCache.evictItems(id);
         String userName = getUserName(updatedItem.getUserId());
         return ItemsResponse.fromEntity(updatedItem, currentUserId, currentUserRole, userName);
     }
@@ -119,6 +160,7 @@ public class ItemsServiceImpl implements ItemsService {
         }
         
         itemsRepository.delete(items);
+        detailCache.evictItems(id);
     }
 }
 
@@ -1,13 +1,27 @@
 package com.segi.campusassistance.service.impl;
 
+import com.segi.campusassistance.dto.CursorPage;
 import com.segi.campusassistance.dto.MarketplaceItemRequest;
 import com.segi.campusassistance.dto.MarketplaceItemResponse;
 import com.segi.campusassistance.entity.MarketplaceItem;
 import com.segi.campusassistance.entity.User;
 import com.segi.campusassistance.repository.MarketplaceItemRepository;
 import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.repository.UserSummary;
+import com.segi.campusassistance.search.SearchDocuments;
+import com.segi.campusassistance.search.SearchIndex;
+import com.segi.campusassistance.service.CachedDetail;
+import com.segi.campusassistance.service.DetailCache;
+import com.segi.campusassistance.service.FeedVersions;
 import com.segi.campusassistance.service.MarketplaceItemService;
+import com.segi.campusassistance.service.MarketplaceViewCounter;
+import com.segi.campusassistance.service.UserLookupService;
+import com.segi.campusassistance.storage.ContentStoreJanitor;
+import com.segi.campusassistance.storage.MediaUrlResolver;
+import com.segi.campusassistance.util.AfterCommit;
+import com.segi.campusassistance.util.FeedCursor;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.access.AccessDeniedException;
@@ -15,17 +29,43 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class MarketplaceItemServiceImpl implements MarketplaceItemService {
 
+    // 相关度排序只取前 1000 个命中，其余命中按发布时间排在后面
+    private static final int MAX_RANKED_HITS = 1000;
+    // 按主键过滤时 IN 列表的上限（MySQL 单条语句最多 65535 个参数），超出时回退到数据库 LIKE 查询
+    private static final int MAX_ID_FILTER = 30000;
+
     private final MarketplaceItemRepository marketplaceItemRepository;
     private final UserRepository userRepository;
-
-    public MarketplaceItemServiceImpl(MarketplaceItemRepository marketplaceItemRepository, UserRepository userRepository) {
+    private final UserLookupService userLookupService;
+    private final SearchIndex marketplaceSearchIndex;
+    private final MarketplaceViewCounter viewCounter;
+    private final ContentStoreJanitor contentStoreJanitor;
+    private final DetailCache detailCache;
+    private final FeedVersions feedVersions;
+
+    public MarketplaceItemServiceImpl(MarketplaceItemRepository marketplaceItemRepository, UserRepository userRepository,
+                                      UserLookupService userLookupService,
+                                      @Qualifier("marketplaceSearchIndex") SearchIndex marketplaceSearchIndex,
+                                      MarketplaceViewCounter viewCounter,
+                                      ContentStoreJanitor contentStoreJanitor,
+                                      DetailCache detailCache, FeedVersions feedVersions) {
         this.marketplaceItemRepository = marketplaceItemRepository;
         this.userRepository = userRepository;
+        this.userLookupService = userLookupService;
+        this.marketplaceSearchIndex = marketplaceSearchIndex;
+        this.viewCounter = viewCounter;
+        this.contentStoreJanitor = contentStoreJanitor;
+        this.detailCache = detailCache;
+        this.feedVersions = feedVersions;
     }
 
     private User getUserInfo(Long userId) {
@@ -35,6 +75,21 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
         return userRepository.findById(userId).orElse(null);
     }
 
+    private List<MarketplaceItemResponse> toResponses(List<MarketplaceItem> items, Long currentUserId, String currentUserRole) {
+        // 一次批量查询解析所有卖家信息
+        Map<Long, UserSummary> sellers = userLookupService.findSummaries(items, MarketplaceItem::getSellerId);
+        return items.stream()
+                .map(item -> {
+                    UserSummary seller = item.getSellerId() != null ? sellers.get(item.getSellerId()) : null;
+                    MarketplaceItemResponse response = MarketplaceItemResponse.fromEntity(item, currentUserId, currentUserRole,
+                            seller != null ? seller.getName() : null,
+                            seller != null ? seller.getEmail() : null);
+                    response.setViews(viewCounter.withPending(item.getItemId(), item.getViews()));
+                    return response;
+                })
+                .collect(java.util.stream.Collectors.toList());
+    }
+
     @Override
     @Transactional
     public MarketplaceItemResponse createItem(Long sellerId, MarketplaceItemRequest request) {
@@ -61,7 +116,7 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
             }
         }
 
-        MarketplaceItem saved = marketplaceItemRepository.save(item);
+        MarketplaceItem saved = index(marketplaceItemRepository.save(item));
         User seller = getUserInfo(saved.getSellerId());
         return MarketplaceItemResponse.fromEntity(saved, sellerId, null, 
                 seller != null ? seller.getName() : null,
@@ -82,12 +137,19 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
             throw new AccessDeniedException("Not authorized to edit this item");
         }
 
+        String previousImageUrl = item.getImageUrl();
         applyRequest(item, request);
-        MarketplaceItem updated = marketplaceItemRepository.save(item);
+        MarketplaceItem updated = index(marketplaceItemRepository.save(item));
+        if (previousImageUrl != null && !previousImageUrl.equals(updated.getImageUrl())) {
+            contentStoreJanitor.release(previousImageUrl);
+        }
+        detailCache.evictMarketplaceItem(itemId);
         User seller = getUserInfo(updated.getSellerId());
-        return MarketplaceItemResponse.fromEntity(updated, userId, userRole,
+        MarketplaceItemResponse response = MarketplaceItemResponse.fromEntity(updated, userId, userRole,
                 seller != null ? seller.getName() : null,
                 seller != null ? seller.getEmail() : null);
+        response.setViews(viewCounter.withPending(itemId, updated.getViews()));
+        return response;
     }
 
     @Override
@@ -106,24 +168,24 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
 
         // 软删除：设置 is_active = false
         item.setIsActive(false);
-        marketplaceItemRepository.save(item);
+        index(marketplaceItemRepository.save(item));
+        detailCache.evictMarketplaceItem(itemId);
     }
 
     @Override
-    @Transactional
     public MarketplaceItemResponse getItem(Long itemId, Long currentUserId, String currentUserRole) {
-        MarketplaceItem item = marketplaceItemRepository.findById(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("Item not found"));
-
-        // 增加 views
-        marketplaceItemRepository.incrementViews(itemId);
-        // 刷新实体以获取最新的 views 值
-        item = marketplaceItemRepository.findById(itemId).orElse(item);
-
-        User seller = getUserInfo(item.getSellerId());
-        return MarketplaceItemResponse.fromEntity(item, currentUserId, currentUserRole,
-                seller != null ? seller.getName() : null,
-                seller != null ? seller.getEmail() : null);
+        // 命中详情缓存时不访问数据库
+        CachedDetail<MarketplaceItem> detail = detailCache.marketplaceItem(itemId);
+        MarketplaceItem item = detail.getEntity();
+
+        // 增加 views：只在内存中计数，由 MarketplaceViewCounter 定时批量写回数据库
+        viewCounter.increment(itemId);
+
+        MarketplaceItemResponse response = MarketplaceItemResponse.fromEntity(item, currentUserId, currentUserRole,
+                detail.getAuthorName(), detail.getAuthorEmail());
+        // 返回值 = 已持久化的 views + 尚未写回的增量
+        response.setViews(viewCounter.withPending(itemId, item.getViews()));
+        return response;
     }
 
     @Override
@@ -131,15 +193,33 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
         Specification<MarketplaceItem> specification = buildSpecification(filter, currentUserId);
         Sort sortOrder = Sort.by(Sort.Direction.DESC, "datePosted");
 
-        return marketplaceItemRepository.findAll(specification, sortOrder)
-                .stream()
-                .map(item -> {
-                    User seller = getUserInfo(item.getSellerId());
-                    return MarketplaceItemResponse.fromEntity(item, currentUserId, currentUserRole,
-                            seller != null ? seller.getName() : null,
-                            seller != null ? seller.getEmail() : null);
-                })
-                .collect(java.util.stream.Collectors.toList());
+        return toResponses(marketplaceItemRepository.findAll(specification, sortOrder), currentUserId, currentUserRole);
+    }
+
+    @Override
+    public CursorPage<MarketplaceItemResponse> getItemsPage(String filter, String cursor, Integer limit,
+                                                            Long currentUserId, String currentUserRole) {
+        int pageSize = FeedCursor.resolveLimit(limit);
+
+        Specification<MarketplaceItem> specification = buildSpecification(filter, currentUserId);
+        if (StringUtils.hasText(cursor)) {
+            FeedCursor feedCursor = FeedCursor.decode(cursor);
+            specification = specification.and(FeedCursor.after(
+                    "datePosted", "itemId", feedCursor.sortValueAsDateTime(), feedCursor.getId(), Sort.Direction.DESC));
+        }
+        // (datePosted, itemId) 作为键集排序，多取一行用于判断是否还有下一页
+        Sort sortOrder = Sort.by(Sort.Direction.DESC, "datePosted", "itemId");
+        List<MarketplaceItem> rows = marketplaceItemRepository.findBy(specification,
+                query -> query.sortBy(sortOrder).limit(pageSize + 1).all());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<MarketplaceItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            MarketplaceItem last = items.get(items.size() - 1);
+            nextCursor = FeedCursor.encode(last.getDatePosted(), last.getItemId());
+        }
+        return new CursorPage<>(toResponses(items, currentUserId, currentUserRole), nextCursor);
     }
 
     @Override
@@ -148,17 +228,48 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
             return List.of();
         }
 
-        Specification<MarketplaceItem> specification = buildSearchSpecification(query.trim());
         Sort sortOrder = Sort.by(Sort.Direction.DESC, "datePosted");
+        Set<Long> matchedIds = marketplaceSearchIndex.isAvailable()
+                ? marketplaceSearchIndex.matchingIds(query.trim())
+                : null;
+        if (matchedIds == null || matchedIds.size() > MAX_ID_FILTER) {
+            // 索引尚未就绪或命中过多，回退到数据库 LIKE 查询
+            Specification<MarketplaceItem> specification = buildSearchSpecification(query.trim());
+            return toResponses(marketplaceItemRepository.findAll(specification, sortOrder), currentUserId, currentUserRole);
+        }
+        if (matchedIds.isEmpty()) {
+            return List.of();
+        }
+        // 索引只负责关键词匹配和相关度排序，is_active 仍以数据库为准
+        Specification<MarketplaceItem> specification = Specification.<MarketplaceItem>where(
+                        (root, query1, cb) -> cb.equal(root.get("isActive"), true))
+                .and((root, query1, cb) -> root.get("itemId").in(matchedIds));
+        List<MarketplaceItem> items = marketplaceItemRepository.findAll(specification, sortOrder);
+        List<Long> rankedIds = marketplaceSearchIndex.search(query.trim(), MAX_RANKED_HITS);
+        return toResponses(orderByRank(items, rankedIds), currentUserId, currentUserRole);
+    }
 
-        return marketplaceItemRepository.findAll(specification, sortOrder)
-                .stream()
-                .map(item -> {
-                    User seller = getUserInfo(item.getSellerId());
-                    return MarketplaceItemResponse.fromEntity(item, currentUserId, currentUserRole,
-                            seller != null ? seller.getName() : null,
-                            seller != null ? seller.getEmail() : null);
-                })
+    /**
+     * 上架中的商品写入索引，下架或软删除的商品从索引移除
+     */
+    private MarketplaceItem index(MarketplaceItem item) {
+        Long itemId = item.getItemId();
+        if (Boolean.TRUE.equals(item.getIsActive())) {
+            AfterCommit.run(() -> marketplaceSearchIndex.upsert(SearchDocuments.of(item)));
+        } else {
+            AfterCommit.run(() -> marketplaceSearchIndex.delete(itemId));
+        }
+        feedVersions.bump(FeedVersions.Feed.MARKETPLACE);
+        return item;
+    }
+
+    private List<MarketplaceItem> orderByRank(List<MarketplaceItem> items, List<Long> rankedIds) {
+        Map<Long, Integer> rank = new HashMap<>();
+        for (int i = 0; i < rankedIds.size(); i++) {
+            rank.put(rankedIds.get(i), i);
+        }
+        return items.stream()
+                .sorted(Comparator.comparing(item -> rank.getOrDefault(item.getItemId(), Integer.MAX_VALUE)))
                 .collect(java.util.stream.Collectors.toList());
     }
 
@@ -182,7 +293,7 @@ public class MarketplaceItemServiceImpl implements MarketplaceItemService {
             item.setLocation(request.getLocation());
         }
         if (request.getImageUrl() != null) {
-            item.setImageUrl(request.getImageUrl());
+            item.setImageUrl(MediaUrlResolver.toKey(request.getImageUrl()));
         }
         if (request.getContactEmail() != null) {
             item.setContactEmail(request.getContactEmail());
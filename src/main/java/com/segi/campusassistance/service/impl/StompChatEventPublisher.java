@@ -0,0 +1,36 @@
+package com.segi.campusassistance.service.impl;
+
+import com.segi.campusassistance.dto.ChatEvent;
+import com.segi.campusassistance.service.ChatEventPublisher;
+import com.segi.campusassistance.util.AfterCommit;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class StompChatEventPublisher implements ChatEventPublisher {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public StompChatEventPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    @Override
+    public void publish(ChatEvent event, Long... participantIds) {
+        // 事务提交后再推送，客户端收到事件时数据库中一定能查到对应数据
+        AfterCommit.run(() -> {
+            messagingTemplate.convertAndSend(chatTopic(event.getChatId()), event);
+            for (Long participantId : participantIds) {
+                messagingTemplate.convertAndSend(userChatsTopic(participantId), event);
+            }
+        });
+    }
+
+    public static String chatTopic(Long chatId) {
+        return "/topic/chats/" + chatId;
+    }
+
+    public static String userChatsTopic(Long userId) {
+        return "/topic/users/" + userId + "/chats";
+    }
+}
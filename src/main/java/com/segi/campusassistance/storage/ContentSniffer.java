@@ -0,0 +1,79 @@
+package com.segi.campusassistance.storage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 根据文件头魔数识别图片类型，不信任客户端声明的 Content-Type 和文件扩展名
+ */
+public final class ContentSniffer {
+
+    /** 识别所需的文件头长度 */
+    public static final int HEADER_LENGTH = 16;
+
+    public static final String OCTET_STREAM = "application/octet-stream";
+
+    private ContentSniffer() {
+    }
+
+    public static String detect(ByteBuffer header) {
+        byte[] bytes = new byte[Math.min(header.remaining(), HEADER_LENGTH)];
+        header.duplicate().get(bytes);
+
+        if (startsWith(bytes, 0, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(bytes, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(bytes, 0, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (startsWith(bytes, 0, 'R', 'I', 'F', 'F') && startsWith(bytes, 8, 'W', 'E', 'B', 'P')) {
+            return "image/webp";
+        }
+        if (startsWith(bytes, 0, 'B', 'M')) {
+            return "image/bmp";
+        }
+        if (startsWith(bytes, 4, 'f', 't', 'y', 'p') && bytes.length >= 12) {
+            String brand = new String(bytes, 8, 4, StandardCharsets.US_ASCII);
+            switch (brand) {
+                case "heic", "heix", "hevc", "mif1", "msf1":
+                    return "image/heic";
+                case "avif":
+                    return "image/avif";
+                default:
+                    break;
+            }
+        }
+        return OCTET_STREAM;
+    }
+
+    /**
+     * 识别出的类型对应的扩展名（带点），未知类型返回 null
+     */
+    public static String extensionFor(String contentType) {
+        return switch (contentType) {
+            case "image/jpeg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            case "image/webp" -> ".webp";
+            case "image/bmp" -> ".bmp";
+            case "image/heic" -> ".heic";
+            case "image/avif" -> ".avif";
+            default -> null;
+        };
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int... expected) {
+        if (bytes.length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((bytes[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+package com.segi.campusassistance.storage;
+
+import com.segi.campusassistance.repository.ItemRepository;
+import com.segi.campusassistance.repository.ItemsRepository;
+import com.segi.campusassistance.repository.MarketplaceItemRepository;
+import com.segi.campusassistance.repository.UserRepository;
+import com.segi.campusassistance.service.FileStorageService;
+import com.segi.campusassistance.util.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * 内容寻址存储的引用计数与清理
+ * 图片被替换或所属记录被删除时登记为“待释放”；宽限期过后重新统计引用
+ * （Item.imageUrl、MarketplaceItem.imageUrl、User.picture，以及旧版 Items.image），
+ * 没有任何记录引用、且宽限期内没有被重新上传复用的对象才会被删除；
+ * 删除与上传复用同一对象通过 FileStorageService.contentLock 互斥
+ */
+@Component
+public class ContentStoreJanitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentStoreJanitor.class);
+
+    private final FileStorageService fileStorageService;
+    private final ItemRepository itemRepository;
+    private final ItemsRepository itemsRepository;
+    private final MarketplaceItemRepository marketplaceItemRepository;
+    private final UserRepository userRepository;
+    private final RenditionService renditionService;
+
+    // 对象路径 -> 登记时间
+    private final Map<String, Long> pendingRelease = new ConcurrentHashMap<>();
+
+    // 上传后到被业务记录引用之间的宽限期，期间不删除
+    @Value("${file.storage.release-grace-ms:3600000}")
+    private long releaseGraceMs;
+
+    public ContentStoreJanitor(FileStorageService fileStorageService,
+                               ItemRepository itemRepository,
+                               ItemsRepository itemsRepository,
+                               MarketplaceItemRepository marketplaceItemRepository,
+                               UserRepository userRepository,
+                               RenditionService renditionService) {
+        this.fileStorageService = fileStorageService;
+        this.itemRepository = itemRepository;
+        this.itemsRepository = itemsRepository;
+        this.marketplaceItemRepository = marketplaceItemRepository;
+        this.userRepository = userRepository;
+        this.renditionService = renditionService;
+    }
+
+    /**
+     * 在当前事务提交后登记不再被该记录使用的图片URL，非内容寻址的URL忽略
+     */
+    public void release(String imageUrl) {
+        String key = fileStorageService.contentKeyOf(imageUrl);
+        if (key != null) {
+            AfterCommit.run(() -> pendingRelease.putIfAbsent(key, System.currentTimeMillis()));
+        }
+    }
+
+    public void releaseAll(Collection<String> imageUrls) {
+        imageUrls.forEach(this::release);
+    }
+
+    /**
+     * 记录中保存的是存储键（/uploads/ab/cd/<sha256>.<ext>），按等值匹配走索引
+     */
+    public long countReferences(String key) {
+        String stored = MediaUrlResolver.keyFor(key);
+        return itemRepository.countByImageUrl(stored)
+                + marketplaceItemRepository.countByImageUrl(stored)
+                + userRepository.countByPicture(stored)
+                + itemsRepository.countByImage(stored);
+    }
+
+    /**
+     * 启动时把旧数据中带主机的本地上传URL改写为存储键，之后引用统计只需等值匹配
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void normalizeLegacyUrls() {
+        try {
+            int updated = itemRepository.normalizeLegacyImageUrls()
+                    + marketplaceItemRepository.normalizeLegacyImageUrls()
+                    + userRepository.normalizeLegacyPictures()
+                    + itemsRepository.normalizeLegacyImages();
+            if (updated > 0) {
+                log.info("Rewrote {} legacy absolute upload URLs as storage keys", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to normalise legacy upload URLs: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file.storage.sweep-interval-ms:600000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Long>> iterator = pendingRelease.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (now - entry.getValue() < releaseGraceMs) {
+                continue;
+            }
+            String key = entry.getKey();
+            try {
+                if (countReferences(key) > 0) {
+                    iterator.remove();
+                } else if (deleteUnreferenced(key)) {
+                    iterator.remove();
+                    log.info("Released unreferenced upload {}", key);
+                } else {
+                    // 宽限期内被重新上传复用过，等下一个宽限期再检查
+                    entry.setValue(now);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to release upload {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 持锁删除对象及其缩略图：统计引用之后被重新上传复用的对象修改时间已刷新，会被保留；
+     * 删除之后的上传会重新写入对象
+     */
+    private boolean deleteUnreferenced(String key) throws IOException {
+        Lock lock = fileStorageService.contentLock(key);
+        lock.lock();
+        try {
+            if (!fileStorageService.deleteContentObject(key, releaseGraceMs)) {
+                return false;
+            }
+            renditionService.deleteRenditions(key);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
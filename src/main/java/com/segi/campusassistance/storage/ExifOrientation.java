@@ -0,0 +1,82 @@
+package com.segi.campusassistance.storage;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 读取 JPEG 的 EXIF 方向标记（0x0112）
+ * ImageIO 解码时忽略 EXIF，手机拍摄的竖图不处理会生成横躺的缩略图
+ */
+final class ExifOrientation {
+
+    static final int NORMAL = 1;
+
+    private static final int MAX_APP1_LENGTH = 64 * 1024;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * 返回 1-8 的方向值，没有 EXIF 或无法解析时返回 1
+     */
+    static int read(InputStream input) throws IOException {
+        DataInputStream in = new DataInputStream(input);
+        if (in.readUnsignedShort() != 0xFFD8) {
+            return NORMAL;
+        }
+        while (true) {
+            int marker = in.readUnsignedShort();
+            if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                return NORMAL;
+            }
+            int length = in.readUnsignedShort() - 2;
+            if (length < 0) {
+                return NORMAL;
+            }
+            if (marker == 0xFFE1 && length <= MAX_APP1_LENGTH) {
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                int orientation = parseApp1(segment);
+                if (orientation != 0) {
+                    return orientation;
+                }
+            } else {
+                in.skipNBytes(length);
+            }
+        }
+    }
+
+    private static int parseApp1(byte[] segment) {
+        // "Exif\0\0" + TIFF 头
+        if (segment.length < 14 || segment[0] != 'E' || segment[1] != 'x' || segment[2] != 'i' || segment[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(segment, 6, segment.length - 6).slice();
+        if (tiff.get(0) == 'I' && tiff.get(1) == 'I') {
+            tiff.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (tiff.get(0) == 'M' && tiff.get(1) == 'M') {
+            tiff.order(ByteOrder.BIG_ENDIAN);
+        } else {
+            return 0;
+        }
+        int ifdOffset = tiff.getInt(4);
+        if (ifdOffset < 8 || ifdOffset + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifdOffset) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifdOffset + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                return 0;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == 0x0112) {
+                int value = tiff.getShort(entry + 8) & 0xFFFF;
+                return value >= 1 && value <= 8 ? value : NORMAL;
+            }
+        }
+        return 0;
+    }
+}
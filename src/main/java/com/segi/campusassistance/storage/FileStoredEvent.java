@@ -0,0 +1,17 @@
+package com.segi.campusassistance.storage;
+
+/**
+ * 上传文件已落盘，用于触发后续的异步处理（缩略图等）
+ */
+public class FileStoredEvent {
+
+    private final StoredFile storedFile;
+
+    public FileStoredEvent(StoredFile storedFile) {
+        this.storedFile = storedFile;
+    }
+
+    public StoredFile getStoredFile() {
+        return storedFile;
+    }
+}
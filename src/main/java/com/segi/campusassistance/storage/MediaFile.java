@@ -0,0 +1,65 @@
+package com.segi.campusassistance.storage;
+
+import java.nio.file.Path;
+
+/**
+ * /uploads/** 一次请求最终选中的文件（原图、缩略图或 webp/预压缩变体）及其响应元数据
+ */
+public final class MediaFile {
+
+    private final Path path;
+    private final long length;
+    private final long lastModified;
+    private final String etag;
+    private final String contentType;
+    private final String contentEncoding;
+    private final boolean immutable;
+
+    public MediaFile(Path path, long length, long lastModified, String etag,
+                     String contentType, String contentEncoding, boolean immutable) {
+        this.path = path;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.etag = etag;
+        this.contentType = contentType;
+        this.contentEncoding = contentEncoding;
+        this.immutable = immutable;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * 带引号的强 ETag，基于内容哈希；同一URL的不同表示（尺寸、webp、br/gzip）各不相同
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 预压缩变体的 Content-Encoding（br / gzip），原始文件为 null
+     */
+    public String getContentEncoding() {
+        return contentEncoding;
+    }
+
+    /**
+     * 文件名即内容哈希、URL 永不指向其他内容时为 true，可使用 immutable 长缓存
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+}
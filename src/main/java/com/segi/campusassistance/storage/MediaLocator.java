@@ -0,0 +1,181 @@
+package com.segi.campusassistance.storage;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.segi.campusassistance.service.FileStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 根据请求路径、尺寸参数和 Accept / Accept-Encoding 选出要返回的上传文件
+ * 内容寻址的文件直接用文件名中的 SHA-256 作为 ETag；旧的 UUID 文件首次访问时计算一次哈希并缓存（Caffeine，读取不加全局锁）
+ */
+@Component
+public class MediaLocator {
+
+    private static final Pattern SHA256_NAME = Pattern.compile("([0-9a-f]{64})(\\.[a-z0-9]{1,10})?$");
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final RenditionService renditionService;
+    private final Cache<Path, CachedHash> hashes;
+
+    public MediaLocator(FileStorageService fileStorageService,
+                        RenditionService renditionService,
+                        @Value("${file.media.etag-cache-entries:10000}") int maxEntries) {
+        this.fileStorageService = fileStorageService;
+        this.renditionService = renditionService;
+        this.hashes = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    /**
+     * @param relativePath   /uploads/ 之后的路径
+     * @param rendition      请求的尺寸，可为 null
+     * @param acceptWebp     客户端是否接受 image/webp
+     * @param acceptEncoding 客户端的 Accept-Encoding，可为 null
+     * @return 不存在或路径非法时返回 null
+     */
+    public MediaFile locate(String relativePath, Rendition rendition, boolean acceptWebp, String acceptEncoding) throws IOException {
+        if (relativePath == null || relativePath.isEmpty() || isHidden(relativePath)) {
+            return null;
+        }
+        Path original = fileStorageService.resolve(relativePath);
+        if (original == null || !Files.isRegularFile(original)) {
+            return null;
+        }
+
+        Matcher hashName = SHA256_NAME.matcher(relativePath);
+        boolean contentNamed = hashName.find();
+        String tag = contentNamed ? hashName.group(1) : hashOf(original);
+        Path selected = original;
+        boolean immutable = contentNamed;
+
+        if (rendition != null) {
+            Path renditionPath = renditionService.findRendition(relativePath, rendition);
+            if (renditionPath != null) {
+                selected = renditionPath;
+                tag += "-" + rendition.getKey();
+            } else {
+                // 尺寸还没生成时先返回原图，同一URL稍后会变成缩略图，因此不能长期缓存
+                immutable = false;
+            }
+        }
+
+        String contentType = contentTypeOf(selected);
+        if (acceptWebp && !"image/webp".equals(contentType)) {
+            Path webp = sibling(selected, replaceExtension(selected.getFileName().toString(), ".webp"));
+            if (Files.isRegularFile(webp)) {
+                selected = webp;
+                contentType = "image/webp";
+                tag += "-webp";
+            }
+        }
+
+        String contentEncoding = null;
+        if (acceptEncoding != null) {
+            for (String[] encoding : new String[][]{{"br", ".br"}, {"gzip", ".gz"}}) {
+                if (acceptEncoding.contains(encoding[0])) {
+                    Path compressed = sibling(selected, selected.getFileName() + encoding[1]);
+                    if (Files.isRegularFile(compressed)) {
+                        selected = compressed;
+                        contentEncoding = encoding[0];
+                        tag += "-" + encoding[0];
+                        break;
+                    }
+                }
+            }
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(selected, BasicFileAttributes.class);
+        return new MediaFile(selected, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                "\"" + tag + "\"", contentType, contentEncoding, immutable);
+    }
+
+    /**
+     * 以 "." 开头的目录（.incoming、.renditions）是内部目录，不对外提供
+     */
+    private boolean isHidden(String path) {
+        for (String segment : path.split("/")) {
+            if (segment.startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Path sibling(Path path, String name) {
+        return path.resolveSibling(name);
+    }
+
+    private String replaceExtension(String filename, String extension) {
+        int lastDot = filename.lastIndexOf('.');
+        return (lastDot > 0 ? filename.substring(0, lastDot) : filename) + extension;
+    }
+
+    private String contentTypeOf(Path path) {
+        return MediaTypeFactory.getMediaType(path.getFileName().toString())
+                .map(MediaType::toString)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    }
+
+    /**
+     * 非内容寻址文件的 SHA-256，按文件大小和修改时间判断缓存是否仍然有效
+     */
+    private String hashOf(Path path) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        CachedHash cached = hashes.getIfPresent(path);
+        if (cached != null && cached.size == size && cached.modified == modified) {
+            return cached.sha256;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HASH_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        hashes.put(path, new CachedHash(size, modified, sha256));
+        return sha256;
+    }
+
+    private static final class CachedHash {
+        private final long size;
+        private final long modified;
+        private final String sha256;
+
+        private CachedHash(long size, long modified, String sha256) {
+            this.size = size;
+            this.modified = modified;
+            this.sha256 = sha256;
+        }
+    }
+}
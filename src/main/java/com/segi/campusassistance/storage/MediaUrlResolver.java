@@ -0,0 +1,116 @@
+package com.segi.campusassistance.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * 上传图片的URL解析
+ * 数据库中只保存相对键（/uploads/ab/cd/<sha256>.jpg），序列化时再拼上公共基础地址；
+ * 基础地址优先取配置 file.media.public-base-url，否则每个请求只根据 Host 计算一次并缓存在请求属性中
+ */
+@Component
+public class MediaUrlResolver {
+
+    public static final String UPLOADS_PREFIX = "/uploads/";
+
+    private static final String BASE_URL_ATTRIBUTE = MediaUrlResolver.class.getName() + ".BASE_URL";
+
+    // 例如 https://cdn.example.com；为空时使用当前请求的 scheme://host:port
+    @Value("${file.media.public-base-url:}")
+    private String publicBaseUrl;
+
+    @Value("${server.ip:}")
+    private String serverIp;
+
+    @Value("${server.port:8081}")
+    private String serverPort;
+
+    private volatile String fallbackBaseUrl;
+
+    /**
+     * 上传文件名对应的存储键
+     */
+    public static String keyFor(String filename) {
+        return filename == null || filename.isEmpty() ? null : UPLOADS_PREFIX + filename;
+    }
+
+    /**
+     * 把客户端提交的图片URL规范化为存储键：本地上传的绝对URL去掉协议和主机，外部URL原样保留
+     */
+    public static String toKey(String imageUrl) {
+        if (imageUrl == null || imageUrl.isEmpty() || imageUrl.startsWith(UPLOADS_PREFIX)) {
+            return imageUrl;
+        }
+        int index = imageUrl.lastIndexOf(UPLOADS_PREFIX);
+        return index >= 0 ? imageUrl.substring(index) : imageUrl;
+    }
+
+    /**
+     * 把存储键展开为完整URL；旧数据中带主机的本地URL（例如旧IP）同样替换为当前基础地址
+     */
+    public String expand(String stored) {
+        if (stored == null || stored.isEmpty()) {
+            return stored;
+        }
+        String key = toKey(stored);
+        if (!key.startsWith(UPLOADS_PREFIX)) {
+            return stored;
+        }
+        return baseUrl() + key;
+    }
+
+    public String publicUrl(String filename) {
+        return expand(keyFor(filename));
+    }
+
+    public String baseUrl() {
+        if (StringUtils.hasText(publicBaseUrl)) {
+            return publicBaseUrl;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String cached = (String) attributes.getAttribute(BASE_URL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached == null) {
+                HttpServletRequest request = servletAttributes.getRequest();
+                cached = ServletUriComponentsBuilder.fromRequestUri(request)
+                        .replacePath(null)
+                        .build()
+                        .toUriString();
+                attributes.setAttribute(BASE_URL_ATTRIBUTE, cached, RequestAttributes.SCOPE_REQUEST);
+            }
+            return cached;
+        }
+        return fallbackBaseUrl();
+    }
+
+    /**
+     * 没有请求上下文时（定时任务、消息推送）使用配置的IP或本机地址
+     */
+    private String fallbackBaseUrl() {
+        String base = fallbackBaseUrl;
+        if (base == null) {
+            String host;
+            if (serverIp != null && !serverIp.isEmpty()) {
+                host = serverIp;
+            } else {
+                try {
+                    host = InetAddress.getLocalHost().getHostAddress();
+                } catch (UnknownHostException e) {
+                    host = "localhost";
+                }
+            }
+            base = "http://" + host + ":" + serverPort;
+            fallbackBaseUrl = base;
+        }
+        return base;
+    }
+}
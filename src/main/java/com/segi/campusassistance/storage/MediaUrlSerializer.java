@@ -0,0 +1,32 @@
+package com.segi.campusassistance.storage;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.IOException;
+
+/**
+ * 序列化时把图片存储键展开为完整URL，用法：@JsonSerialize(using = MediaUrlSerializer.class)
+ * Spring 管理的 ObjectMapper 会注入 MediaUrlResolver；在 Spring 之外创建的 ObjectMapper 原样输出相对键
+ */
+public class MediaUrlSerializer extends StdSerializer<String> {
+
+    private final MediaUrlResolver resolver;
+
+    public MediaUrlSerializer() {
+        this(null);
+    }
+
+    @Autowired
+    public MediaUrlSerializer(MediaUrlResolver resolver) {
+        super(String.class);
+        this.resolver = resolver;
+    }
+
+    @Override
+    public void serialize(String value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeString(resolver != null ? resolver.expand(value) : value);
+    }
+}
@@ -0,0 +1,61 @@
+package com.segi.campusassistance.storage;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 上传图片的预生成尺寸（按最长边限制）
+ */
+public enum Rendition {
+
+    THUMB("thumb", 200),
+    CARD("card", 600),
+    DETAIL("detail", 1280);
+
+    /** 请求某个尺寸时使用的查询参数，例如 /uploads/ab/cd/xxx.jpg?size=thumb */
+    public static final String QUERY_PARAM = "size";
+
+    private final String key;
+    private final int maxDimension;
+
+    Rendition(String key, int maxDimension) {
+        this.key = key;
+        this.maxDimension = maxDimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getMaxDimension() {
+        return maxDimension;
+    }
+
+    public static Rendition fromKey(String key) {
+        if (key == null) {
+            return null;
+        }
+        for (Rendition rendition : values()) {
+            if (rendition.key.equalsIgnoreCase(key)) {
+                return rendition;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 为本地上传的图片生成各尺寸的URL；尺寸尚未生成（或原图本身更小）时服务端直接返回原图
+     * 外部图片（例如 Google 头像）返回 null
+     */
+    public static Map<String, String> urlsFor(String imageUrl) {
+        if (imageUrl == null || !imageUrl.contains("/uploads/")) {
+            return null;
+        }
+        String separator = imageUrl.indexOf('?') >= 0 ? "&" : "?";
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (Rendition rendition : values()) {
+            urls.put(rendition.key, imageUrl + separator + QUERY_PARAM + "=" + rendition.key);
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,245 @@
+package com.segi.campusassistance.storage;
+
+import com.segi.campusassistance.service.FileStorageService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 上传图片的异步缩略图生成
+ * 上传接口只负责落盘，缩放在有界线程池中进行；队列满时放弃生成（客户端请求该尺寸时会拿到原图）
+ * 生成结果保存在 uploads/.renditions/{thumb|card|detail}/ 下，与原图的相对路径一致
+ */
+@Service
+public class RenditionService {
+
+    private static final Logger log = LoggerFactory.getLogger(RenditionService.class);
+
+    private static final String RENDITIONS_DIR = ".renditions";
+
+    // ImageIO 能解码的类型；webp、heic 等直接使用原图
+    private static final Set<String> SUPPORTED_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/bmp");
+
+    private final FileStorageService fileStorageService;
+    private final ThreadPoolExecutor executor;
+
+    public RenditionService(FileStorageService fileStorageService,
+                            @Value("${file.renditions.threads:2}") int threads,
+                            @Value("${file.renditions.queue-capacity:200}") int queueCapacity) {
+        this.fileStorageService = fileStorageService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rendition-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("Rendition queue is full, serving originals for the dropped upload"));
+    }
+
+    @EventListener
+    public void onFileStored(FileStoredEvent event) {
+        StoredFile storedFile = event.getStoredFile();
+        if (SUPPORTED_TYPES.contains(storedFile.getContentType())) {
+            executor.execute(() -> generate(storedFile.getFilename(), storedFile.getContentType()));
+        }
+    }
+
+    /**
+     * 查找已生成的尺寸文件，不存在时返回 null
+     */
+    public Path findRendition(String filename, Rendition rendition) {
+        for (String extension : new String[]{".jpg", ".png"}) {
+            Path path = renditionPath(filename, rendition, extension);
+            if (path != null && Files.isRegularFile(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 原图被删除时一并删除其各尺寸文件
+     */
+    public void deleteRenditions(String filename) throws IOException {
+        for (Rendition rendition : Rendition.values()) {
+            for (String extension : new String[]{".jpg", ".png"}) {
+                Path path = renditionPath(filename, rendition, extension);
+                if (path != null) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    void generate(String filename, String contentType) {
+        try {
+            Path source = fileStorageService.resolve(filename);
+            if (source == null || !Files.isRegularFile(source)) {
+                return;
+            }
+            // 内容寻址模式下相同图片重复上传时，尺寸文件已经存在
+            boolean missing = false;
+            for (Rendition rendition : Rendition.values()) {
+                missing |= findRendition(filename, rendition) == null;
+            }
+            if (!missing) {
+                return;
+            }
+
+            BufferedImage image = decode(source);
+            if (image == null) {
+                return;
+            }
+            if ("image/jpeg".equals(contentType)) {
+                try (InputStream in = Files.newInputStream(source)) {
+                    image = applyOrientation(image, ExifOrientation.read(in));
+                }
+            }
+
+            boolean hasAlpha = image.getColorModel().hasAlpha();
+            String format = hasAlpha ? "png" : "jpg";
+            int longest = Math.max(image.getWidth(), image.getHeight());
+            // 从大到小依次缩放，每一级都以上一级为输入，减少计算量
+            BufferedImage current = image;
+            for (int i = Rendition.values().length - 1; i >= 0; i--) {
+                Rendition rendition = Rendition.values()[i];
+                if (longest <= rendition.getMaxDimension()) {
+                    // 原图比该尺寸还小，直接使用原图
+                    continue;
+                }
+                current = scale(current, rendition.getMaxDimension(), hasAlpha);
+                write(current, format, renditionPath(filename, rendition, "." + format));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate renditions for {}: {}", filename, e.getMessage());
+        }
+    }
+
+    /**
+     * 解码时按目标尺寸做源图降采样，避免把几千万像素的原图完整加载进内存
+     */
+    private BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (Rendition.DETAIL.getMaxDimension() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage source, int maxDimension, boolean hasAlpha) {
+        double ratio = (double) maxDimension / Math.max(source.getWidth(), source.getHeight());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage target = new BufferedImage(width, height, hasAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * 按 EXIF 方向旋转/翻转
+     */
+    private BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        if (orientation <= ExifOrientation.NORMAL || orientation > 8) {
+            return image;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean swap = orientation >= 5;
+        // 构造 EXIF 方向对应的仿射变换矩阵 (m00, m10, m01, m11, m02, m12)
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            default -> new AffineTransform(0, -1, 1, 0, 0, width);
+        };
+        BufferedImage rotated = new BufferedImage(swap ? height : width, swap ? width : height,
+                image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rotated.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rotated;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        if (target == null) {
+            return;
+        }
+        Files.createDirectories(target.getParent());
+        Path temp = fileStorageService.getIncomingPath().resolve(UUID.randomUUID() + ".part");
+        try {
+            if (!ImageIO.write(image, format, temp.toFile())) {
+                throw new IOException("No ImageIO writer for " + format);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path renditionPath(String filename, Rendition rendition, String extension) {
+        int lastDot = filename.lastIndexOf('.');
+        String base = lastDot > filename.lastIndexOf('/') ? filename.substring(0, lastDot) : filename;
+        return fileStorageService.resolve(RENDITIONS_DIR + "/" + rendition.getKey() + "/" + base + extension);
+    }
+}
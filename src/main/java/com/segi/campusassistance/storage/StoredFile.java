@@ -0,0 +1,53 @@
+package com.segi.campusassistance.storage;
+
+/**
+ * 一次上传的存储结果
+ */
+public final class StoredFile {
+
+    private final String filename;
+    private final long size;
+    private final String sha256;
+    private final String contentType;
+    private final boolean deduplicated;
+
+    public StoredFile(String filename, long size, String sha256, String contentType, boolean deduplicated) {
+        this.filename = filename;
+        this.size = size;
+        this.sha256 = sha256;
+        this.contentType = contentType;
+        this.deduplicated = deduplicated;
+    }
+
+    /**
+     * 相对于上传目录的文件名，用于拼接 /uploads/ 公共URL
+     */
+    public String getFilename() {
+        return filename;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * 文件内容的 SHA-256（十六进制小写）
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * 根据文件头魔数识别的类型；无法识别时为 application/octet-stream
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 内容寻址模式下，相同内容已存在，本次上传没有写入新文件
+     */
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+}
@@ -0,0 +1,97 @@
+package com.segi.campusassistance.util;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 列表接口的键集（keyset）分页游标
+ * 游标记录上一页最后一行的 (排序字段, id)，下一页从该位置之后继续读取，
+ * 不使用 OFFSET 扫描，并发插入新数据时也不会重复或跳过。对客户端是不透明字符串。
+ */
+public final class FeedCursor {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final char SEPARATOR = '|';
+
+    private final String sortValue;
+    private final Long id;
+
+    private FeedCursor(String sortValue, Long id) {
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    public static String encode(Object sortValue, Long id) {
+        String raw = sortValue + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            if (separatorIndex <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new FeedCursor(raw.substring(0, separatorIndex), Long.valueOf(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException e) {
+            // Base64 / 数字格式错误都视为非法游标
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * 生成 "位于游标之后" 的查询条件：
+     * DESC 时为 sortField < v OR (sortField = v AND id < lastId)，ASC 时方向相反
+     */
+    public static <T, Y extends Comparable<? super Y>> Specification<T> after(
+            String sortField, String idField, Y sortValue, Long lastId, Sort.Direction direction) {
+        return (root, query, cb) -> {
+            if (direction.isDescending()) {
+                return cb.or(
+                        cb.lessThan(root.<Y>get(sortField), sortValue),
+                        cb.and(cb.equal(root.get(sortField), sortValue),
+                                cb.lessThan(root.<Long>get(idField), lastId)));
+            }
+            return cb.or(
+                    cb.greaterThan(root.<Y>get(sortField), sortValue),
+                    cb.and(cb.equal(root.get(sortField), sortValue),
+                            cb.greaterThan(root.<Long>get(idField), lastId)));
+        };
+    }
+
+    public LocalDate sortValueAsDate() {
+        try {
+            return LocalDate.parse(sortValue);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDateTime sortValueAsDateTime() {
+        try {
+            return LocalDateTime.parse(sortValue);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
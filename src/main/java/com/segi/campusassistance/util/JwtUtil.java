@@ -1,6 +1,10 @@
 package com.segi.campusassistance.util;
 
+import com.segi.campusassistance.security.UserPrincipal;
+import com.segi.campusassistance.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,15 +20,19 @@ import java.util.function.Function;
 @Component
 public class JwtUtil {
     
-    @Value("${jwt.secret:your-secret-key-should-be-at-least-256-bits-long-for-hs256-algorithm}")
-    private String secret;
-    
-    @Value("${jwt.expiration:86400000}") // 24 hours in milliseconds
-    private Long expiration;
-    
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private final Long expiration;
+
+    // 密钥和解析器是线程安全的，只在启动时构建一次
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${jwt.secret:your-secret-key-should-be-at-least-256-bits-long-for-hs256-algorithm}") String secret,
+                   @Value("${jwt.expiration:86400000}") Long expiration) { // 24 hours in milliseconds
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
     
     public String generateToken(Long userId, String email, String role) {
@@ -44,9 +52,29 @@ public class JwtUtil {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
+
+    /**
+     * 单次验签 + 解析，得到用户主体和过期时间
+     * 签名错误、格式错误、已过期或缺少必要字段时返回 null
+     */
+    public VerifiedToken verify(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            Long userId = claims.get("userId", Long.class);
+            String email = claims.getSubject();
+            if (userId == null || email == null) {
+                return null;
+            }
+            UserPrincipal principal = new UserPrincipal(userId, email, claims.get("role", String.class));
+            Date expiresAt = claims.getExpiration();
+            return new VerifiedToken(principal, expiresAt != null ? expiresAt.toInstant() : null);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
     
     public String extractEmail(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -66,11 +94,7 @@ public class JwtUtil {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
     
     public Boolean validateToken(String token, String email) {
@@ -86,11 +110,3 @@ public class JwtUtil {
         return extractClaim(token, Claims::getExpiration);
     }
 }
-
-
-
-
-
-
-
-
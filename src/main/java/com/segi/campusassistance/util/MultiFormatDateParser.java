@@ -0,0 +1,105 @@
+package com.segi.campusassistance.util;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 客户端提交的多格式日期解析，按以下优先级匹配：
+ * MM/dd/yyyy（Flutter）、dd/MM/yyyy、yyyy-MM-dd、MM-dd-yyyy、dd-MM-yyyy
+ *
+ * 常见的 10 位格式按分隔符位置直接扫描数字，不创建格式化器也不抛异常；
+ * 其余形状才回退到预编译的 DateTimeFormatter 依次尝试。
+ * 与 DateTimeFormatter 默认的 SMART 解析一致：月 1-12、日 1-31，日超过当月天数时取当月最后一天
+ */
+public final class MultiFormatDateParser {
+
+    public static final String SUPPORTED_FORMATS = "MM/dd/yyyy, dd/MM/yyyy, yyyy-MM-dd, MM-dd-yyyy, dd-MM-yyyy";
+
+    private static final DateTimeFormatter[] FORMATTERS = {
+            DateTimeFormatter.ofPattern("MM/dd/yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("MM-dd-yyyy"),
+            DateTimeFormatter.ofPattern("dd-MM-yyyy")
+    };
+
+    private MultiFormatDateParser() {
+    }
+
+    /**
+     * @return 解析结果，所有格式都不匹配时返回 null
+     */
+    public static LocalDate parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        if (text.length() == 10) {
+            char first = text.charAt(2);
+            if (first == '/' && text.charAt(5) == '/') {
+                return parseMonthDayPair(text);
+            }
+            if (first == '-' && text.charAt(5) == '-') {
+                return parseMonthDayPair(text);
+            }
+            if (text.charAt(4) == '-' && text.charAt(7) == '-') {
+                return parseIso(text);
+            }
+        }
+        return parseWithFormatters(text);
+    }
+
+    // yyyy-MM-dd 与其他格式形状不同，日期不合法时不需要再尝试其他格式
+    private static LocalDate parseIso(String text) {
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return parseWithFormatters(text);
+        }
+        return of(year, month, day);
+    }
+
+    // MM/dd/yyyy 或 MM-dd-yyyy：先按 月-日 解释，不合法时再按 日-月 解释
+    private static LocalDate parseMonthDayPair(String text) {
+        int first = digits(text, 0, 2);
+        int second = digits(text, 3, 2);
+        int year = digits(text, 6, 4);
+        if (first < 0 || second < 0 || year < 0) {
+            return parseWithFormatters(text);
+        }
+        LocalDate date = of(year, first, second);
+        return date != null ? date : of(year, second, first);
+    }
+
+    private static LocalDate of(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        LocalDate firstOfMonth = LocalDate.of(year, month, 1);
+        return firstOfMonth.withDayOfMonth(Math.min(day, firstOfMonth.lengthOfMonth()));
+    }
+
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static LocalDate parseWithFormatters(String text) {
+        for (DateTimeFormatter formatter : FORMATTERS) {
+            try {
+                return LocalDate.parse(text, formatter);
+            } catch (DateTimeParseException e) {
+                // 继续尝试下一个格式
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,135 @@
+package com.segi.campusassistance.controller;
+
+import com.segi.campusassistance.service.FileStorageService;
+import com.segi.campusassistance.storage.MediaLocator;
+import com.segi.campusassistance.storage.RenditionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MediaControllerTest {
+
+    private static final String SHA256 = "ab" + "cd" + "0".repeat(60);
+    private static final String KEY = "ab/cd/" + SHA256 + ".jpg";
+    private static final String ETAG = "\"" + SHA256 + "\"";
+
+    @TempDir
+    Path uploadDir;
+
+    private byte[] content;
+    private RenditionService renditionService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        FileStorageService fileStorageService = new FileStorageService();
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+        fileStorageService.init();
+        renditionService = new RenditionService(fileStorageService, 1, 1);
+        MediaController controller = new MediaController(new MediaLocator(fileStorageService, renditionService, 100));
+        ReflectionTestUtils.setField(controller, "maxAgeSeconds", 3600L);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.createDirectories(uploadDir.resolve("ab/cd"));
+        Files.write(uploadDir.resolve(KEY), content);
+    }
+
+    @AfterEach
+    void tearDown() {
+        renditionService.shutdown();
+    }
+
+    @Test
+    void servesContentAddressedFileWithStrongEtag() throws Exception {
+        mockMvc.perform(get("/uploads/" + KEY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length));
+    }
+
+    @Test
+    void hashesLegacyFileOnceForItsEtag() throws Exception {
+        Files.write(uploadDir.resolve("legacy-upload.jpg"), content);
+        String etag = "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)) + "\"";
+
+        mockMvc.perform(get("/uploads/legacy-upload.jpg"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=3600"));
+        mockMvc.perform(get("/uploads/legacy-upload.jpg").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingIfNoneMatch() throws Exception {
+        mockMvc.perform(get("/uploads/" + KEY).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void returnsPartialContentForSingleRange() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/" + KEY).header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andReturn();
+        assertArrayEquals(Arrays.copyOfRange(content, 100, 200), result.getResponse().getContentAsByteArray());
+
+        mockMvc.perform(get("/uploads/" + KEY).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 990-999/1000"));
+    }
+
+    @Test
+    void ignoresRangeWhenIfRangeDoesNotMatch() throws Exception {
+        mockMvc.perform(get("/uploads/" + KEY)
+                        .header(HttpHeaders.RANGE, "bytes=100-199")
+                        .header(HttpHeaders.IF_RANGE, "\"stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length));
+    }
+
+    @Test
+    void returnsRangeNotSatisfiableBeyondEndOfFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + KEY).header(HttpHeaders.RANGE, "bytes=1000-1099"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1000"));
+    }
+
+    @Test
+    void hidesInternalDirectories() throws Exception {
+        Files.write(uploadDir.resolve(".incoming/upload.part"), content);
+        Files.createDirectories(uploadDir.resolve(".renditions/thumb/ab/cd"));
+        Files.write(uploadDir.resolve(".renditions/thumb/" + KEY), content);
+
+        mockMvc.perform(get("/uploads/.incoming/upload.part"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/.renditions/thumb/" + KEY))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/ab/cd/missing.jpg"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,69 @@
+package com.segi.campusassistance.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.segi.campusassistance.config.JacksonConfig;
+import com.segi.campusassistance.entity.Chat;
+import com.segi.campusassistance.storage.MediaUrlResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.SpringHandlerInstantiator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChatResponseSerializationTest {
+
+    private static final String BASE_URL = "https://media.example.com";
+
+    @Test
+    void expandsPictureKeysInAvatarAliases() throws Exception {
+        Chat chat = new Chat();
+        chat.setId(1L);
+        chat.setItemId(2L);
+        chat.setOwnerId(3L);
+        chat.setRequesterId(4L);
+        ChatResponse response = ChatResponse.fromEntity(chat,
+                "Owner", "/uploads/ab/cd/owner.jpg",
+                "Requester", "/uploads/ef/01/requester.jpg", 0L);
+
+        JsonNode json = objectMapper().valueToTree(response);
+
+        assertEquals(BASE_URL + "/uploads/ab/cd/owner.jpg", json.get("ownerPicture").asText());
+        assertEquals(BASE_URL + "/uploads/ab/cd/owner.jpg", json.get("ownerAvatar").asText());
+        assertEquals(BASE_URL + "/uploads/ef/01/requester.jpg", json.get("requesterPicture").asText());
+        assertEquals(BASE_URL + "/uploads/ef/01/requester.jpg", json.get("requesterAvatar").asText());
+    }
+
+    @Test
+    void keepsExternalAvatarUrls() throws Exception {
+        Chat chat = new Chat();
+        chat.setOwnerId(3L);
+        chat.setRequesterId(4L);
+        ChatResponse response = ChatResponse.fromEntity(chat,
+                "Owner", "https://lh3.googleusercontent.com/a/photo",
+                "Requester", null, 0L);
+
+        JsonNode json = objectMapper().valueToTree(response);
+
+        assertEquals("https://lh3.googleusercontent.com/a/photo", json.get("ownerAvatar").asText());
+        assertEquals(true, json.get("requesterAvatar").isNull());
+    }
+
+    /**
+     * 与应用上下文一致：JacksonConfig 的配置 + 通过 Spring 实例化 MediaUrlSerializer
+     */
+    private static ObjectMapper objectMapper() {
+        MediaUrlResolver resolver = new MediaUrlResolver();
+        ReflectionTestUtils.setField(resolver, "publicBaseUrl", BASE_URL);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("mediaUrlResolver", resolver);
+        AutowiredAnnotationBeanPostProcessor autowiring = new AutowiredAnnotationBeanPostProcessor();
+        autowiring.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(autowiring);
+        return new JacksonConfig().objectMapper(Jackson2ObjectMapperBuilder.json()
+                .handlerInstantiator(new SpringHandlerInstantiator(beanFactory)));
+    }
+}
@@ -0,0 +1,42 @@
+package com.segi.campusassistance.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryTrackerTest {
+
+    @Test
+    void nestedScopesAlsoCountInOuterScope() {
+        try (QueryTracker.Scope outer = QueryTracker.track()) {
+            QueryTracker.record(1_000_000);
+            try (QueryTracker.Scope inner = QueryTracker.track()) {
+                QueryTracker.record(2_000_000);
+                assertEquals(1, inner.getStatements());
+                assertEquals(2.0, inner.getDbTimeMillis());
+            }
+            QueryTracker.record(1_000_000);
+            assertEquals(3, outer.getStatements());
+            assertEquals(4.0, outer.getDbTimeMillis());
+        }
+    }
+
+    @Test
+    void assertStatementsAtMostFailsWhenExceeded() {
+        try (QueryTracker.Scope scope = QueryTracker.track()) {
+            QueryTracker.record(0);
+            QueryTracker.record(0);
+            scope.assertStatementsAtMost(2);
+            assertThrows(AssertionError.class, () -> scope.assertStatementsAtMost(1));
+        }
+    }
+
+    @Test
+    void statementsOutsideAScopeAreIgnored() {
+        QueryTracker.record(1_000_000);
+        try (QueryTracker.Scope scope = QueryTracker.track()) {
+            assertEquals(0, scope.getStatements());
+        }
+    }
+}
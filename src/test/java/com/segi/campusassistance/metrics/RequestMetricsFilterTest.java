@@ -0,0 +1,108 @@
+package com.segi.campusassistance.metrics;
+
+import com.segi.campusassistance.config.MetricsConfig;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 通过 MetricsConfig 包装的代理数据源执行语句，验证监听器把语句计入当前请求
+ */
+class RequestMetricsFilterTest {
+
+    private MeterRegistry registry;
+    private QueryBudgetProperties budget;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(statement.execute(anyString())).thenReturn(false);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenReturn(connection);
+
+        registry = new SimpleMeterRegistry();
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(Map.of("meterRegistry", registry));
+        DataSource dataSource = (DataSource) MetricsConfig
+                .queryTrackingDataSourcePostProcessor(beanFactory.getBeanProvider(MeterRegistry.class))
+                .postProcessAfterInitialization(target, "dataSource");
+
+        budget = new QueryBudgetProperties();
+        mockMvc = MockMvcBuilders.standaloneSetup(new StatementController(dataSource))
+                .addFilters(new RequestMetricsFilter(registry, budget, true))
+                .build();
+    }
+
+    @Test
+    void proxiedStatementsAreCountedForTheRequest() throws Exception {
+        mockMvc.perform(get("/statements"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString("desc=\"3 statements\"")));
+
+        DistributionSummary perRequest = registry.find("db.statements.per.request")
+                .tag("handler", "StatementController.run")
+                .summary();
+        assertNotNull(perRequest);
+        assertEquals(1, perRequest.count());
+        assertEquals(3.0, perRequest.totalAmount());
+        assertEquals(3.0, registry.get("db.statements").counter().count());
+        assertNull(registry.find("db.budget.exceeded").counter());
+    }
+
+    @Test
+    void exceedingTheBudgetIsCountedWithoutFailingTheRequest() throws Exception {
+        budget.setMaxStatements(2);
+
+        mockMvc.perform(get("/statements"))
+                .andExpect(status().isOk());
+
+        assertEquals(1.0, registry.get("db.budget.exceeded").tag("handler", "StatementController.run").counter().count());
+    }
+
+    @RestController
+    static class StatementController {
+
+        private final DataSource dataSource;
+
+        StatementController(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @GetMapping("/statements")
+        public String run() throws SQLException {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SELECT 1");
+                statement.execute("SELECT 2");
+                statement.execute("SELECT 3");
+            }
+            return "ok";
+        }
+    }
+}
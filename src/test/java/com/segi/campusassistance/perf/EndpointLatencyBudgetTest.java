@@ -0,0 +1,136 @@
+package com.segi.campusassistance.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.segi.campusassistance.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 合成数据规模下主要接口的延迟和 SQL 语句数预算（mvn -P perf-test test，需要本地 MySQL）
+ * 首次运行由 SyntheticDataGenerator 生成数据，之后复用；请求以聊天最多的用户身份发出
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("synthetic-data")
+class EndpointLatencyBudgetTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointLatencyBudgetTest.class);
+
+    private static final int WARMUP = Integer.getInteger("perf.warmup", 20);
+    private static final int REQUESTS = Integer.getInteger("perf.requests", 200);
+    private static final Pattern STATEMENTS = Pattern.compile("desc=\"(\\d+) statements\"");
+
+    @Autowired
+    private TestRestTemplate rest;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpHeaders headers;
+    private long busiestChatId;
+
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> user = jdbcTemplate.queryForMap(
+                "SELECT u.id, u.email, u.role FROM users u JOIN chats c ON c.owner_id = u.id "
+                        + "GROUP BY u.id, u.email, u.role ORDER BY COUNT(*) DESC LIMIT 1");
+        long userId = ((Number) user.get("id")).longValue();
+        headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateToken(userId, (String) user.get("email"), (String) user.get("role")));
+        busiestChatId = jdbcTemplate.queryForObject(
+                "SELECT c.id FROM chats c JOIN chat_messages m ON m.chat_id = c.id WHERE c.owner_id = ? "
+                        + "GROUP BY c.id ORDER BY COUNT(*) DESC LIMIT 1", Long.class, userId);
+    }
+
+    @Test
+    void feedsStayWithinBudget() {
+        assertBudget("/api/items?limit=20", 150, 6);
+        assertBudget("/items?limit=20", 150, 6);
+        assertBudget("/api/marketplace/items?limit=20", 150, 6);
+    }
+
+    @Test
+    void chatsStayWithinBudget() {
+        assertBudget("/api/chats/my", 500, 6);
+        assertBudget("/api/chats/unread-total", 50, 3);
+        assertBudget("/api/chats/" + busiestChatId + "/messages?limit=50", 100, 6);
+
+        String cursor = body("/api/chats/" + busiestChatId + "/messages?limit=50").path("nextCursor").asText();
+        assertBudget("/api/chats/" + busiestChatId + "/messages?limit=50&before=" + cursor, 100, 6);
+    }
+
+    /**
+     * 预热后顺序请求 REQUESTS 次，p95 延迟和每个请求的最大语句数都不能超过预算
+     */
+    private void assertBudget(String path, long p95BudgetMs, int statementBudget) {
+        for (int i = 0; i < WARMUP; i++) {
+            get(path);
+        }
+        long[] nanos = new long[REQUESTS];
+        int maxStatements = 0;
+        for (int i = 0; i < REQUESTS; i++) {
+            long start = System.nanoTime();
+            ResponseEntity<String> response = get(path);
+            nanos[i] = System.nanoTime() - start;
+            assertEquals(200, response.getStatusCode().value(), path + ": " + response.getBody());
+            maxStatements = Math.max(maxStatements, statements(path, response));
+        }
+        Arrays.sort(nanos);
+        double p95Ms = nanos[(int) Math.ceil(REQUESTS * 0.95) - 1] / 1_000_000.0;
+        log.info(String.format("%-60s p50 %6.1f ms  p95 %6.1f ms  statements %d",
+                path, nanos[REQUESTS / 2] / 1_000_000.0, p95Ms, maxStatements));
+
+        assertTrue(p95Ms <= p95BudgetMs, path + " p95 " + p95Ms + " ms exceeds budget of " + p95BudgetMs + " ms");
+        assertTrue(maxStatements <= statementBudget,
+                path + " executed " + maxStatements + " SQL statements, budget is " + statementBudget);
+    }
+
+    private ResponseEntity<String> get(String path) {
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private JsonNode body(String path) {
+        try {
+            return objectMapper.readTree(get(path).getBody());
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid response from " + path, e);
+        }
+    }
+
+    // RequestMetricsFilter 写入的 Server-Timing: db;dur=..;desc="N statements"，缺失时无法检查语句预算，直接失败
+    private static int statements(String path, ResponseEntity<String> response) {
+        String serverTiming = response.getHeaders().getFirst("Server-Timing");
+        assertNotNull(serverTiming, path + " has no Server-Timing header (metrics.server-timing.enabled=false?)");
+        Matcher matcher = STATEMENTS.matcher(serverTiming);
+        assertTrue(matcher.find(), path + " has an unrecognised Server-Timing header: " + serverTiming);
+        return Integer.parseInt(matcher.group(1));
+    }
+}
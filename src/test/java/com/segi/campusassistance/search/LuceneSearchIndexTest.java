@@ -0,0 +1,41 @@
+package com.segi.campusassistance.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LuceneSearchIndexTest {
+
+    private static final int DOCUMENTS = 2500;
+
+    @Test
+    void matchingIdsReturnsEveryMatchBeyondTheRankedCap() throws Exception {
+        try (LuceneSearchIndex index = new LuceneSearchIndex("test", Map.of("name", 2.0f, "description", 1.0f))) {
+            List<SearchDocument> documents = new ArrayList<>();
+            for (long id = 1; id <= DOCUMENTS; id++) {
+                // 一半精确命中，一半只能通过前缀命中
+                String name = id % 2 == 0 ? "Black backpack " + id : "Blue backpacks " + id;
+                documents.add(new SearchDocument(id, Map.of("name", name, "description", "Found near the library")));
+            }
+            documents.add(new SearchDocument(DOCUMENTS + 1L, Map.of("name", "Umbrella", "description", "Red")));
+            index.rebuild(documents);
+
+            Set<Long> ids = index.matchingIds("backpack");
+            assertEquals(DOCUMENTS, ids.size());
+            assertTrue(ids.contains(1L));
+            assertTrue(ids.contains((long) DOCUMENTS));
+            assertFalse(ids.contains(DOCUMENTS + 1L));
+
+            assertEquals(1000, index.search("backpack", 1000).size());
+            // 拼写容错（编辑距离 1）同样不截断
+            assertEquals(DOCUMENTS / 2, index.matchingIds("backpak").size());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.segi.campusassistance.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.json.gson.GsonFactory;
+import com.google.api.client.json.webtoken.JsonWebSignature;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 用本地生成的 RSA 密钥签发 ID Token，通过 StaticGooglePublicKeySource 离线校验
+ */
+class GoogleTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client.apps.googleusercontent.com";
+
+    private static KeyPair googleKey;
+    private static KeyPair otherKey;
+
+    @BeforeAll
+    static void generateKeys() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        googleKey = generator.generateKeyPair();
+        otherKey = generator.generateKeyPair();
+    }
+
+    @Test
+    void acceptsTokenSignedWithKnownKey() throws Exception {
+        GoogleTokenVerifier verifier = verifier(new StaticGooglePublicKeySource(List.of(googleKey.getPublic())));
+
+        GoogleIdToken token = verifier.verify(sign(googleKey, "google-kid", payload(CLIENT_ID, 3600)));
+
+        assertNotNull(token);
+        assertEquals("1234567890", token.getPayload().getSubject());
+        assertEquals("student@segi.edu.my", token.getPayload().getEmail());
+    }
+
+    @Test
+    void rejectsBadSignature() throws Exception {
+        GoogleTokenVerifier verifier = verifier(new StaticGooglePublicKeySource(List.of(googleKey.getPublic())));
+        String token = sign(googleKey, "google-kid", payload(CLIENT_ID, 3600));
+        // 篡改签名部分的第一个字符
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char replaced = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, signatureStart) + replaced + token.substring(signatureStart + 1);
+
+        assertNull(verifier.verify(tampered));
+    }
+
+    @Test
+    void rejectsWrongAudience() throws Exception {
+        GoogleTokenVerifier verifier = verifier(new StaticGooglePublicKeySource(List.of(googleKey.getPublic())));
+
+        assertNull(verifier.verify(sign(googleKey, "google-kid", payload("another-client.apps.googleusercontent.com", 3600))));
+    }
+
+    @Test
+    void rejectsExpiredToken() throws Exception {
+        GoogleTokenVerifier verifier = verifier(new StaticGooglePublicKeySource(List.of(googleKey.getPublic())));
+
+        // 超出 5 分钟的允许时钟偏差
+        assertNull(verifier.verify(sign(googleKey, "google-kid", payload(CLIENT_ID, -600))));
+    }
+
+    @Test
+    void rejectsUnknownKid() throws Exception {
+        GoogleTokenVerifier verifier = verifier(new StaticGooglePublicKeySource(List.of(googleKey.getPublic())));
+
+        assertNull(verifier.verify(sign(otherKey, "unknown-kid", payload(CLIENT_ID, 3600))));
+    }
+
+    @Test
+    void acceptsUnknownKidAfterKeyRotation() throws Exception {
+        CountingKeySource keySource = new CountingKeySource(List.of(googleKey.getPublic()),
+                List.of(googleKey.getPublic(), otherKey.getPublic()));
+        GoogleTokenVerifier verifier = verifier(keySource);
+
+        assertNotNull(verifier.verify(sign(otherKey, "rotated-kid", payload(CLIENT_ID, 3600))));
+        assertEquals(1, keySource.refreshes.get());
+    }
+
+    private static GoogleTokenVerifier verifier(GooglePublicKeySource keySource) {
+        return new GoogleTokenVerifier(keySource, CLIENT_ID);
+    }
+
+    private static GoogleIdToken.Payload payload(String audience, long expiresInSeconds) {
+        long now = System.currentTimeMillis() / 1000;
+        GoogleIdToken.Payload payload = new GoogleIdToken.Payload();
+        payload.setIssuer("https://accounts.google.com");
+        payload.setAudience(audience);
+        payload.setSubject("1234567890");
+        payload.setEmail("student@segi.edu.my");
+        payload.setIssuedAtTimeSeconds(now - 60);
+        payload.setExpirationTimeSeconds(now + expiresInSeconds);
+        return payload;
+    }
+
+    private static String sign(KeyPair keyPair, String keyId, GoogleIdToken.Payload payload) throws Exception {
+        JsonWebSignature.Header header = new JsonWebSignature.Header();
+        header.setAlgorithm("RS256");
+        header.setType("JWT");
+        header.setKeyId(keyId);
+        return JsonWebSignature.signUsingRsaSha256(keyPair.getPrivate(), GsonFactory.getDefaultInstance(), header, payload);
+    }
+
+    /**
+     * 刷新前后返回不同公钥的来源，模拟 Google 轮换密钥
+     */
+    private static final class CountingKeySource implements GooglePublicKeySource {
+
+        private final List<PublicKey> beforeRefresh;
+        private final List<PublicKey> afterRefresh;
+        private final AtomicInteger refreshes = new AtomicInteger();
+
+        CountingKeySource(List<PublicKey> beforeRefresh, List<PublicKey> afterRefresh) {
+            this.beforeRefresh = beforeRefresh;
+            this.afterRefresh = afterRefresh;
+        }
+
+        @Override
+        public List<PublicKey> getPublicKeys() {
+            return refreshes.get() == 0 ? beforeRefresh : afterRefresh;
+        }
+
+        @Override
+        public boolean refresh() {
+            refreshes.incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.segi.campusassistance.service;
+
+import com.segi.campusassistance.dto.NotificationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationStreamServiceTest {
+
+    @Test
+    void notificationPublishedBeforeReplayQueryReachesResumingClient() {
+        RecordingStreamService service = new RecordingStreamService();
+
+        // 模拟补发查询执行前另一个事务提交并广播了通知 7
+        service.subscribe(() -> {
+            service.publishCreated(notification(7L));
+            return List.of(notification(5L), notification(6L));
+        });
+
+        assertEquals(Set.of("5", "6", "7"), service.emitter.eventIds());
+    }
+
+    private static NotificationResponse notification(Long id) {
+        NotificationResponse response = new NotificationResponse();
+        response.setId(id);
+        response.setMessage("notification " + id);
+        return response;
+    }
+
+    private static final class RecordingStreamService extends NotificationStreamService {
+
+        private RecordingEmitter emitter;
+
+        @Override
+        SseEmitter createEmitter() {
+            emitter = new RecordingEmitter();
+            return emitter;
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            builder.build().forEach(part -> events.add(String.valueOf(part.getData())));
+        }
+
+        Set<String> eventIds() {
+            return Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE)
+                    .matcher(String.join("", events))
+                    .results()
+                    .map(match -> match.group(1))
+                    .collect(Collectors.toSet());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.segi.campusassistance.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MultiFormatDateParserTest {
+
+    private static final String[] LEGACY_FORMATS = {"MM/dd/yyyy", "dd/MM/yyyy", "yyyy-MM-dd", "MM-dd-yyyy", "dd-MM-yyyy"};
+
+    @Test
+    void keepsFormatPrecedence() {
+        assertEquals(LocalDate.of(2025, 12, 9), MultiFormatDateParser.parse("12/09/2025"));
+        assertEquals(LocalDate.of(2025, 12, 25), MultiFormatDateParser.parse("25/12/2025"));
+        assertEquals(LocalDate.of(2025, 12, 9), MultiFormatDateParser.parse("2025-12-09"));
+        assertEquals(LocalDate.of(2025, 12, 9), MultiFormatDateParser.parse("12-09-2025"));
+        assertEquals(LocalDate.of(2025, 12, 25), MultiFormatDateParser.parse("25-12-2025"));
+        // 超过当月天数时取最后一天
+        assertEquals(LocalDate.of(2025, 2, 28), MultiFormatDateParser.parse("02/30/2025"));
+    }
+
+    @Test
+    void rejectsUnsupportedInput() {
+        assertNull(MultiFormatDateParser.parse(null));
+        assertNull(MultiFormatDateParser.parse(""));
+        assertNull(MultiFormatDateParser.parse("13/13/2025"));
+        assertNull(MultiFormatDateParser.parse("2025/12/09"));
+        assertNull(MultiFormatDateParser.parse("1/2/2025"));
+        assertNull(MultiFormatDateParser.parse("2025-00-10"));
+    }
+
+    @Test
+    void matchesLegacyFormatterLoop() {
+        String[] years = {"2024", "2025", "1900", "0000", "0001", "20x5"};
+        for (String year : years) {
+            for (int a = 0; a <= 40; a++) {
+                for (int b = 0; b <= 40; b++) {
+                    String first = String.format("%02d", a);
+                    String second = String.format("%02d", b);
+                    assertSame(first + "/" + second + "/" + year);
+                    assertSame(first + "-" + second + "-" + year);
+                    assertSame(year + "-" + first + "-" + second);
+                }
+            }
+        }
+        for (String text : new String[]{"2025-1-09", "12/9/2025", "12/09/25", "+2025-12-09", "12/09/+2025", "12-09/2025", "12/09/02025"}) {
+            assertSame(text);
+        }
+    }
+
+    private static void assertSame(String text) {
+        assertEquals(legacyParse(text), MultiFormatDateParser.parse(text), text);
+    }
+
+    private static LocalDate legacyParse(String text) {
+        for (String format : LEGACY_FORMATS) {
+            try {
+                return LocalDate.parse(text, DateTimeFormatter.ofPattern(format));
+            } catch (DateTimeParseException e) {
+                // 继续尝试下一个格式
+            }
+        }
+        return null;
+    }
+}